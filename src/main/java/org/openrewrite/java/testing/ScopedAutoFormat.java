@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.format.AutoFormatVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.style.GeneralFormatStyle;
+import org.openrewrite.style.NamedStyles;
+import org.openrewrite.style.Style;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.openrewrite.Tree.randomId;
+import static org.openrewrite.java.format.AutodetectGeneralFormatStyle.autodetectGeneralFormatStyle;
+
+/**
+ * Auto-formatting limited to the part of a tree that a recipe actually replaced.
+ * <p>
+ * This delegates to {@link AutoFormatVisitor}, but a {@link GeneralFormatStyle} that is missing from the source file is
+ * detected once per source file and kept on the cursor of the source file, rather than on every call. Detecting the
+ * line endings of a source file takes a pass over the whole source file.
+ */
+public final class ScopedAutoFormat {
+    private static final String GENERAL_FORMAT_STYLE = ScopedAutoFormat.class.getName() + ".GENERAL_FORMAT_STYLE";
+
+    private ScopedAutoFormat() {
+    }
+
+    /**
+     * Format {@code after} if it is a different instance than {@code before}, and otherwise return it as is.
+     *
+     * @param before    the tree before the edit
+     * @param after     the tree after the edit
+     * @param stopAfter the last tree to format, typically the name of a declaration to only format its header
+     * @param ctx       the execution context
+     * @param parent    the cursor of the parent of the edited tree
+     * @return {@code after}, formatted if it changed
+     */
+    public static <J2 extends J> J2 maybeAutoFormat(J2 before, J2 after, @Nullable J stopAfter, ExecutionContext ctx, Cursor parent) {
+        if (before == after) {
+            return after;
+        }
+        return autoFormat(after, stopAfter, ctx, parent);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <J2 extends J> J2 autoFormat(J2 j, @Nullable J stopAfter, ExecutionContext ctx, Cursor parent) {
+        return (J2) new AutoFormatVisitor<>(stopAfter).visitNonNull(j, ctx, withGeneralFormatStyle(parent));
+    }
+
+    /**
+     * Rebuild the cursor path up to the source file, with a source file that carries its detected
+     * {@link GeneralFormatStyle}, so that {@link AutoFormatVisitor} does not detect it again.
+     */
+    private static Cursor withGeneralFormatStyle(Cursor cursor) {
+        if (cursor.getValue() instanceof JavaSourceFile) {
+            SourceFile sourceFile = cursor.getValue();
+            if (sourceFile.getStyle(GeneralFormatStyle.class) != null) {
+                return cursor;
+            }
+            GeneralFormatStyle generalFormat = cursor.computeMessageIfAbsent(GENERAL_FORMAT_STYLE,
+                    k -> autodetectGeneralFormatStyle((JavaSourceFile) sourceFile));
+            NamedStyles detected = new NamedStyles(randomId(), GENERAL_FORMAT_STYLE, "Detected general format style",
+                    null, emptySet(), singletonList((Style) generalFormat));
+            return new Cursor(cursor.getParent(), sourceFile.withMarkers(sourceFile.getMarkers().add(detected)));
+        }
+        Cursor parent = cursor.getParent();
+        if (parent == null) {
+            return cursor;
+        }
+        Cursor styledParent = withGeneralFormatStyle(parent);
+        return styledParent == parent ? cursor : new Cursor(styledParent, cursor.getValue());
+    }
+}
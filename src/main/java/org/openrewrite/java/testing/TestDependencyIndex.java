@@ -0,0 +1,197 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.gradle.marker.GradleDependencyConfiguration;
+import org.openrewrite.gradle.marker.GradleProject;
+import org.openrewrite.internal.StringUtils;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.marker.Marker;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.ResolvedDependency;
+import org.openrewrite.semver.Semver;
+import org.openrewrite.semver.VersionComparator;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the test framework versions (Mockito, JUnit, AssertJ, Hamcrest) resolved on the test classpath of each
+ * module, keyed by the {@link JavaProject} of the module. The index is shared by all recipes of a run through the
+ * {@link ExecutionContext}, and is filled from the {@link GradleProject} and {@link MavenResolutionResult} markers of
+ * build files, so that version-gated recipes don't need to run dependency search visitors over every source file.
+ * <p>
+ * Source files without a {@link JavaProject} marker, or of a module without a recorded build file, are answered
+ * from the union of all recorded build files.
+ */
+public class TestDependencyIndex {
+    private static final Set<String> INDEXED_GROUPS = new HashSet<>(Arrays.asList(
+            "junit",
+            "org.assertj",
+            "org.hamcrest",
+            "org.junit.jupiter",
+            "org.junit.platform",
+            "org.junit.vintage",
+            "org.mockito"));
+    private static final List<String> GRADLE_TEST_CONFIGURATIONS = Arrays.asList("testCompileClasspath", "testRuntimeClasspath");
+    private static final Map<String, VersionComparator> VERSION_COMPARATORS = new ConcurrentHashMap<>();
+
+    private final Map<UUID, BuildFile> buildFiles = new ConcurrentHashMap<>();
+    private final Map<JavaProject, ResolvedVersions> modules = new ConcurrentHashMap<>();
+    private volatile @Nullable ResolvedVersions allModules;
+
+    public static TestDependencyIndex get(ExecutionContext ctx) {
+        return ctx.computeMessageIfAbsent(TestDependencyIndex.class.getName(), k -> new TestDependencyIndex());
+    }
+
+    /**
+     * Records the resolved test dependencies of a build file. Only markers are inspected, so this is cheap to call
+     * for every source file, and a build file is only read again when its dependency marker has changed.
+     *
+     * @param sourceFile any source file
+     * @return whether the source file is a build file carrying a Gradle or Maven dependency marker
+     */
+    public boolean record(SourceFile sourceFile) {
+        Marker marker = dependencyMarker(sourceFile);
+        if (marker == null) {
+            return false;
+        }
+        BuildFile existing = buildFiles.get(sourceFile.getId());
+        if (existing != null && existing.marker == marker) {
+            return true;
+        }
+
+        ResolvedVersions versions = new ResolvedVersions();
+        if (marker instanceof GradleProject) {
+            for (String configuration : GRADLE_TEST_CONFIGURATIONS) {
+                GradleDependencyConfiguration gdc = ((GradleProject) marker).getConfiguration(configuration);
+                if (gdc != null) {
+                    versions.addAll(gdc.getResolved());
+                }
+            }
+        } else {
+            for (List<ResolvedDependency> dependencies : ((MavenResolutionResult) marker).getDependencies().values()) {
+                versions.addAll(dependencies);
+            }
+        }
+
+        buildFiles.put(sourceFile.getId(), new BuildFile(marker, versions));
+        sourceFile.getMarkers().findFirst(JavaProject.class).ifPresent(project -> modules.put(project, versions));
+        allModules = null;
+        return true;
+    }
+
+    /**
+     * @param sourceFile a build file or a source file of a module
+     * @return the test dependencies resolved for the build file itself, or for the module the source file belongs to
+     */
+    public ResolvedVersions getResolvedVersions(SourceFile sourceFile) {
+        if (record(sourceFile)) {
+            return buildFiles.get(sourceFile.getId()).versions;
+        }
+        Optional<JavaProject> project = sourceFile.getMarkers().findFirst(JavaProject.class);
+        if (project.isPresent()) {
+            ResolvedVersions versions = modules.get(project.get());
+            if (versions != null) {
+                return versions;
+            }
+        }
+        ResolvedVersions all = allModules;
+        if (all == null) {
+            all = new ResolvedVersions();
+            for (BuildFile buildFile : buildFiles.values()) {
+                for (Map.Entry<String, Set<String>> entry : buildFile.versions.versionsByArtifact.entrySet()) {
+                    all.versionsByArtifact.computeIfAbsent(entry.getKey(), k -> new HashSet<>()).addAll(entry.getValue());
+                }
+            }
+            allModules = all;
+        }
+        return all;
+    }
+
+    private static @Nullable Marker dependencyMarker(SourceFile sourceFile) {
+        Optional<GradleProject> gradleProject = sourceFile.getMarkers().findFirst(GradleProject.class);
+        if (gradleProject.isPresent()) {
+            return gradleProject.get();
+        }
+        return sourceFile.getMarkers().findFirst(MavenResolutionResult.class).orElse(null);
+    }
+
+    private static class BuildFile {
+        final Marker marker;
+        final ResolvedVersions versions;
+
+        BuildFile(Marker marker, ResolvedVersions versions) {
+            this.marker = marker;
+            this.versions = versions;
+        }
+    }
+
+    /**
+     * The versions of the indexed test frameworks resolved for one module, including transitive dependencies.
+     */
+    public static class ResolvedVersions {
+        private final Map<String, Set<String>> versionsByArtifact = new HashMap<>();
+
+        /**
+         * @param groupId         the exact group id
+         * @param artifactId      an artifact id, glob patterns are supported
+         * @param versionPattern  an optional version range or pattern, as accepted by {@link Semver#validate}, or
+         *                        {@code null} to match any version
+         * @return whether a matching dependency is resolved
+         * @throws org.openrewrite.ValidationException when the version pattern is not valid
+         */
+        public boolean hasDependency(String groupId, String artifactId, @Nullable String versionPattern) {
+            VersionComparator comparator = versionPattern == null ? null :
+                    VERSION_COMPARATORS.computeIfAbsent(versionPattern, v -> Semver.validate(v, null).getValueNonNullOrThrow());
+            String groupPrefix = groupId + ":";
+            for (Map.Entry<String, Set<String>> entry : versionsByArtifact.entrySet()) {
+                String key = entry.getKey();
+                if (!key.startsWith(groupPrefix) || !StringUtils.matchesGlob(key.substring(groupPrefix.length()), artifactId)) {
+                    continue;
+                }
+                if (comparator == null) {
+                    return true;
+                }
+                for (String version : entry.getValue()) {
+                    if (comparator.isValid(null, version)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void addAll(List<ResolvedDependency> dependencies) {
+            Set<ResolvedDependency> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            Deque<ResolvedDependency> queue = new ArrayDeque<>(dependencies);
+            while (!queue.isEmpty()) {
+                ResolvedDependency dependency = queue.poll();
+                if (!seen.add(dependency)) {
+                    continue;
+                }
+                if (INDEXED_GROUPS.contains(dependency.getGroupId())) {
+                    versionsByArtifact.computeIfAbsent(dependency.getGroupId() + ":" + dependency.getArtifactId(), k -> new HashSet<>())
+                            .add(dependency.getVersion());
+                }
+                queue.addAll(dependency.getDependencies());
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.ChangeType;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeTree;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Changes the references to one type into another type from within the visitor of a migration, rather than with a
+ * separate {@link ChangeType} pass over the source file.
+ * <p>
+ * A visitor delegates its {@code visitType}, {@code visitIdentifier} and {@code visitFieldAccess} to this. Imports
+ * are not changed here: the visitor leaves them as they are, and maintains them with {@code maybeRemoveImport} and
+ * {@code maybeAddImport}, which know about the import layout.
+ */
+public class TypeRewrite {
+    private final String fromFullyQualifiedName;
+    private final String fromClassName;
+    private final JavaType.FullyQualified to;
+
+    /**
+     * The rewritten types, which also guards against recursive generic bounds like {@code T extends Comparable<T>}.
+     */
+    private final Map<JavaType, JavaType> rewritten = new IdentityHashMap<>();
+
+    public TypeRewrite(String fromFullyQualifiedName, JavaType.FullyQualified to) {
+        this.fromFullyQualifiedName = fromFullyQualifiedName;
+        this.fromClassName = fromFullyQualifiedName.substring(fromFullyQualifiedName.lastIndexOf('.') + 1);
+        this.to = to;
+    }
+
+    /**
+     * @return the type with every reference to the original type changed, including array element types, type
+     * parameters, generic bounds and the declaring, return and parameter types of methods
+     */
+    public @Nullable JavaType rewrite(@Nullable JavaType type) {
+        if (type == null) {
+            return null;
+        }
+        JavaType result = rewritten.get(type);
+        if (result == null) {
+            rewritten.put(type, type);
+            result = doRewrite(type);
+            rewritten.put(type, result);
+        }
+        return result;
+    }
+
+    private JavaType doRewrite(JavaType type) {
+        if (type instanceof JavaType.Parameterized) {
+            JavaType.Parameterized parameterized = (JavaType.Parameterized) type;
+            return parameterized
+                    .withType((JavaType.FullyQualified) rewrite(parameterized.getType()))
+                    .withTypeParameters(ListUtils.map(parameterized.getTypeParameters(), this::rewrite));
+        }
+        if (type instanceof JavaType.FullyQualified) {
+            return TypeUtils.isOfClassType(type, fromFullyQualifiedName) ? to : type;
+        }
+        if (type instanceof JavaType.Array) {
+            JavaType.Array array = (JavaType.Array) type;
+            return array.withElemType(rewrite(array.getElemType()));
+        }
+        if (type instanceof JavaType.GenericTypeVariable) {
+            JavaType.GenericTypeVariable generic = (JavaType.GenericTypeVariable) type;
+            return generic.withBounds(ListUtils.map(generic.getBounds(), this::rewrite));
+        }
+        if (type instanceof JavaType.Method) {
+            JavaType.Method method = (JavaType.Method) type;
+            return method
+                    .withDeclaringType((JavaType.FullyQualified) rewrite(method.getDeclaringType()))
+                    .withReturnType(rewrite(method.getReturnType()))
+                    .withParameterTypes(ListUtils.map(method.getParameterTypes(), this::rewrite));
+        }
+        if (type instanceof JavaType.Variable) {
+            JavaType.Variable variable = (JavaType.Variable) type;
+            return variable.withType(rewrite(variable.getType()));
+        }
+        return type;
+    }
+
+    /**
+     * @return the identifier renamed to the new type when it refers to the original type, to be called with the
+     * identifier before its type is visited
+     */
+    public J.Identifier rename(J.Identifier ident) {
+        if (fromClassName.equals(ident.getSimpleName()) && TypeUtils.isOfClassType(ident.getType(), fromFullyQualifiedName)) {
+            return ident.withSimpleName(to.getClassName());
+        }
+        return ident;
+    }
+
+    /**
+     * @return a fully qualified reference to the new type replacing a fully qualified reference to the original
+     * type, or {@code null} if the field access is something else
+     */
+    public J.@Nullable FieldAccess replaceFullyQualified(J.FieldAccess fieldAccess) {
+        if (!fieldAccess.isFullyQualifiedClassReference(fromFullyQualifiedName)) {
+            return null;
+        }
+        J.FieldAccess typeTree = TypeTree.build(to.getFullyQualifiedName());
+        return typeTree
+                .withName(typeTree.getName().withType(to))
+                .withType(to)
+                .withPrefix(fieldAccess.getPrefix())
+                .withMarkers(fieldAccess.getMarkers());
+    }
+}
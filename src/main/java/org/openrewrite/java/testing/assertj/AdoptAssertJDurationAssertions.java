@@ -15,6 +15,7 @@
  */
 package org.openrewrite.java.testing.assertj;
 
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
@@ -50,15 +51,20 @@ public class AdoptAssertJDurationAssertions extends Recipe {
     private static final MethodMatcher AS_MATCHER = new MethodMatcher("org.assertj.core.api.AbstractObjectAssert as(..)");
     private static final MethodMatcher TIME_UNIT_MATCHERS = new MethodMatcher(DURATION_ASSERT_HAS_LONG, true);
 
-    private static final List<MethodMatcher> IS_MATCHERS = Arrays.asList(
-            new MethodMatcher(INTEGER_ASSERT_IS_EQUAL_TO, true),
-            new MethodMatcher(INTEGER_ASSERT_IS_GREATER_THAN, true),
-            new MethodMatcher(INTEGER_ASSERT_IS_LESS_THAN, true),
-
-            new MethodMatcher(LONG_ASSERT_IS_EQUAL_TO, true),
-            new MethodMatcher(LONG_ASSERT_IS_GREATER_THAN, true),
-            new MethodMatcher(LONG_ASSERT_IS_LESS_THAN, true)
-    );
+    /**
+     * The matchers of the integer and long assertions, by the name of the method they match.
+     */
+    private static final Map<String, MethodMatcher[]> IS_MATCHERS = new HashMap<String, MethodMatcher[]>() {{
+        put("isEqualTo", new MethodMatcher[]{
+                new MethodMatcher(INTEGER_ASSERT_IS_EQUAL_TO, true),
+                new MethodMatcher(LONG_ASSERT_IS_EQUAL_TO, true)});
+        put("isGreaterThan", new MethodMatcher[]{
+                new MethodMatcher(INTEGER_ASSERT_IS_GREATER_THAN, true),
+                new MethodMatcher(LONG_ASSERT_IS_GREATER_THAN, true)});
+        put("isLessThan", new MethodMatcher[]{
+                new MethodMatcher(INTEGER_ASSERT_IS_LESS_THAN, true),
+                new MethodMatcher(LONG_ASSERT_IS_LESS_THAN, true)});
+    }};
 
     private static final Map<String, String> METHOD_MAP = new HashMap<String, String>() {{
         put("getSeconds", "hasSeconds");
@@ -97,17 +103,31 @@ public class AdoptAssertJDurationAssertions extends Recipe {
                         new UsesMethod<>(LONG_ASSERT_IS_GREATER_THAN, true),
                         new UsesMethod<>(LONG_ASSERT_IS_LESS_THAN, true)
                 ), new JavaIsoVisitor<ExecutionContext>() {
+                    private JavaParser.@Nullable Builder<?, ?> javaParser;
+
                     @Override
                     public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                         J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
                         if (TIME_UNIT_MATCHERS.matches(mi)) {
                             return simplifyTimeUnits(mi, ctx);
-                        } else if (IS_MATCHERS.stream().anyMatch(matcher -> matcher.matches(mi))) {
+                        } else if (isIntegralAssertion(mi)) {
                             return simplifyMultipleAssertions(mi, ctx);
                         }
                         return mi;
                     }
 
+                    private boolean isIntegralAssertion(J.MethodInvocation mi) {
+                        MethodMatcher[] matchers = IS_MATCHERS.get(mi.getSimpleName());
+                        if (matchers != null) {
+                            for (MethodMatcher matcher : matchers) {
+                                if (matcher.matches(mi)) {
+                                    return true;
+                                }
+                            }
+                        }
+                        return false;
+                    }
+
                     private J.MethodInvocation simplifyMultipleAssertions(J.MethodInvocation m, ExecutionContext ctx) {
                         Expression isEqualToArg = m.getArguments().get(0);
                         Expression select = m.getSelect();
@@ -132,18 +152,29 @@ public class AdoptAssertJDurationAssertions extends Recipe {
                         J.MethodInvocation assertThatArg = (J.MethodInvocation) assertThatArgumentExpr;
 
                         if (isZero(isEqualToArg) && checkIfRelatedToDuration(assertThatArg)) {
-                            String formatted_template = formatTemplate("assertThat(#{any()}).%s();", m.getSimpleName(), asDescription);
+                            String formatted_template = formatTemplate("assertThat(#{any()}).%s();", METHOD_MAP.get(m.getSimpleName()), asDescription);
                             templateParameters.set(0, assertThatArg);
                             return applyTemplate(ctx, m, formatted_template, templateParameters.toArray());
                         }
 
                         if (GET_NANO_MATCHER.matches(assertThatArg) || GET_SECONDS_MATCHER.matches(assertThatArg)) {
                             Expression assertThatArgSelect = assertThatArg.getSelect();
-                            String methodName = assertThatArg.getSimpleName();
-                            String formatted_template = formatTemplate("assertThat(#{any()}).%s(#{any()});", methodName, asDescription);
+                            String methodName = METHOD_MAP.get(assertThatArg.getSimpleName());
                             templateParameters.set(0, assertThatArgSelect);
-                            templateParameters.add(isEqualToArg);
 
+                            // Go straight to the coarsest unit, rather than one unit per recipe cycle
+                            Long argValue = SimplifyDurationCreationUnits.getConstantIntegralValue(isEqualToArg);
+                            if (argValue != null) {
+                                List<Object> unitInfo = getUnitInfo(methodName, argValue);
+                                if (!methodName.equals(unitInfo.get(0))) {
+                                    String formatted_template = formatTemplate("assertThat(#{any()}).%s(" + toLiteral((long) unitInfo.get(1)) + ");",
+                                            (String) unitInfo.get(0), asDescription);
+                                    return applyTemplate(ctx, m, formatted_template, templateParameters.toArray());
+                                }
+                            }
+
+                            String formatted_template = formatTemplate("assertThat(#{any()}).%s(#{any()});", methodName, asDescription);
+                            templateParameters.add(isEqualToArg);
                             return applyTemplate(ctx, m, formatted_template, templateParameters.toArray());
                         }
 
@@ -165,23 +196,28 @@ public class AdoptAssertJDurationAssertions extends Recipe {
                             return m;
                         }
 
-                        List<Object> unitInfo = getUnitInfo(m.getSimpleName(), Math.toIntExact(argValue));
+                        List<Object> unitInfo = getUnitInfo(m.getSimpleName(), argValue);
                         String methodName = (String) unitInfo.get(0);
-                        int methodArg = (int) unitInfo.get(1);
+                        long methodArg = (long) unitInfo.get(1);
                         if (!(m.getSimpleName().equals(methodName))) {
                             // update method invocation with new name and arg
-                            String template = String.format("#{any()}.%s(%d)", methodName, methodArg);
+                            String template = String.format("#{any()}.%s(%s)", methodName, toLiteral(methodArg));
                             return applyTemplate(ctx, m, template, m.getSelect());
                         }
 
                         return m;
                     }
 
-                    private List<Object> getUnitInfo(String name, int argValue) {
+                    /**
+                     * @return the name of the coarsest unit in which the value is exact, and the value in that unit
+                     */
+                    private List<Object> getUnitInfo(String name, long argValue) {
                         final int timeLength;
                         if (name.equals("hasSeconds") || name.equals("hasMinutes")) {
                             timeLength = 60;
-                        } else if (name.equals("hasNanos") || name.equals("hasMillis")) {
+                        } else if (name.equals("hasNanos")) {
+                            timeLength = 1_000_000;
+                        } else if (name.equals("hasMillis")) {
                             timeLength = 1000;
                         } else if (name.equals("hasHours")) {
                             timeLength = 24;
@@ -198,10 +234,14 @@ public class AdoptAssertJDurationAssertions extends Recipe {
                         }
                     }
 
+                    private String toLiteral(long value) {
+                        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? value + "L" : String.valueOf(value);
+                    }
+
                     private J.MethodInvocation applyTemplate(ExecutionContext ctx, J.MethodInvocation m, String template, Object... parameters) {
                         J.MethodInvocation invocation = JavaTemplate.builder(template)
                                 .contextSensitive()
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
+                                .javaParser(javaParser(ctx))
                                 .build()
                                 .apply(getCursor(), m.getCoordinates().replace(), parameters);
 
@@ -216,6 +256,13 @@ public class AdoptAssertJDurationAssertions extends Recipe {
                         return invocation;
                     }
 
+                    private JavaParser.Builder<?, ?> javaParser(ExecutionContext ctx) {
+                        if (javaParser == null) {
+                            javaParser = JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24");
+                        }
+                        return javaParser;
+                    }
+
                     private boolean checkIfRelatedToDuration(J.MethodInvocation argument) {
                         if (argument.getSelect() != null) {
                             if (argument.getSelect() instanceof J.MethodInvocation) {
@@ -227,8 +274,7 @@ public class AdoptAssertJDurationAssertions extends Recipe {
                     }
 
                     @SuppressWarnings("ConstantValue")
-                    private String formatTemplate(String template, String methodName, Object asDescriptionArg) {
-                        String replacementMethod = METHOD_MAP.get(methodName);
+                    private String formatTemplate(String template, String replacementMethod, Object asDescriptionArg) {
                         if (asDescriptionArg == null) {
                             return String.format(template, replacementMethod);
                         }
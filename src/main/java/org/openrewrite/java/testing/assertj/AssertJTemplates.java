@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.assertj;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The AssertJ templates of a visitor, each built on first use and then reused for every assertion it replaces.
+ * All templates share one parser with AssertJ on its classpath.
+ * <p>
+ * Only the conversions that pick their AssertJ assertion by overload, like floating point deltas, arrays and
+ * {@code fail}, are built here. The one to one conversions are Refaster templates in {@link JUnitToAssertJRules}.
+ */
+class AssertJTemplates {
+    private final Map<String, JavaTemplate> templates = new HashMap<>();
+
+    private JavaParser.@Nullable Builder<?, ?> javaParser;
+
+    /**
+     * @param code          the template code, which also identifies the template
+     * @param ctx           the execution context, to resolve the AssertJ classpath
+     * @param staticImports the static imports of the template
+     * @return the template for {@code code}
+     */
+    JavaTemplate get(String code, ExecutionContext ctx, String... staticImports) {
+        return get(code, false, ctx, staticImports);
+    }
+
+    /**
+     * @param code          the template code, passing {@code message} to {@code as(..)}
+     * @param message       the message of the assertion, which may be a {@code Supplier<String>}
+     * @param ctx           the execution context, to resolve the AssertJ classpath
+     * @param staticImports the static imports of the template
+     * @return the template for {@code code} with this kind of message
+     */
+    JavaTemplate getWithMessage(String code, Expression message, ExecutionContext ctx, String... staticImports) {
+        return get(code, TypeUtils.isOfClassType(message.getType(), "java.util.function.Supplier"), ctx, staticImports);
+    }
+
+    private JavaTemplate get(String code, boolean messageSupplier, ExecutionContext ctx, String... staticImports) {
+        String key = messageSupplier ? code + " // Supplier" : code;
+        JavaTemplate template = templates.get(key);
+        if (template == null) {
+            if (javaParser == null) {
+                javaParser = JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24");
+            }
+            JavaTemplate.Builder builder = JavaTemplate.builder(code)
+                    .staticImports(staticImports)
+                    .javaParser(javaParser);
+            if (messageSupplier) {
+                builder.imports("java.util.function.Supplier");
+            }
+            template = builder.build();
+            templates.put(key, template);
+        }
+        return template;
+    }
+}
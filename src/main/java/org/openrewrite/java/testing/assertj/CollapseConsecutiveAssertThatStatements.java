@@ -15,6 +15,7 @@
  */
 package org.openrewrite.java.testing.assertj;
 
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
@@ -23,12 +24,13 @@ import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.*;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.regex.Pattern;
 
 @Incubating(since = "2.17.0")
 public class CollapseConsecutiveAssertThatStatements extends Recipe {
     private static final MethodMatcher ASSERT_THAT = new MethodMatcher("org.assertj.core.api.Assertions assertThat(..)");
+    private static final Pattern LEADING_BLANK_LINES = Pattern.compile("^\\s+\n");
 
     @Override
     public String getDisplayName() {
@@ -47,53 +49,61 @@ public class CollapseConsecutiveAssertThatStatements extends Recipe {
             public J.Block visitBlock(J.Block block, ExecutionContext ctx) {
                 J.Block bl = super.visitBlock(block, ctx);
 
-                List<Statement> statementsCollapsed = new ArrayList<>();
-                for (List<Statement> group : getGroupedStatements(bl)) {
-                    if (group.size() <= 1) {
-                        statementsCollapsed.addAll(group);
-                    } else {
-                        statementsCollapsed.add(getCollapsedAssertThat(group));
+                List<Statement> statements = bl.getStatements();
+                List<Statement> statementsCollapsed = null; // Only allocated once a group is collapsed
+                int groupStart = 0;
+                while (groupStart < statements.size()) {
+                    int groupEnd = groupStart + 1;
+                    Expression actual = getGroupableActual(statements.get(groupStart));
+                    if (actual != null) {
+                        String fingerprint = fingerprint(actual);
+                        while (groupEnd < statements.size() &&
+                               isSameActual(actual, fingerprint, getGroupableActual(statements.get(groupEnd)))) {
+                            groupEnd++;
+                        }
+                    }
+                    if (groupEnd - groupStart > 1) {
+                        if (statementsCollapsed == null) {
+                            statementsCollapsed = new ArrayList<>(statements.subList(0, groupStart));
+                        }
+                        statementsCollapsed.add(getCollapsedAssertThat(statements.subList(groupStart, groupEnd)));
+                    } else if (statementsCollapsed != null) {
+                        statementsCollapsed.add(statements.get(groupStart));
                     }
+                    groupStart = groupEnd;
                 }
 
-                return bl.withStatements(statementsCollapsed);
+                return statementsCollapsed == null ? bl : bl.withStatements(statementsCollapsed);
             }
 
-            private List<List<Statement>> getGroupedStatements(J.Block bl) {
-                List<Statement> originalStatements = bl.getStatements();
-                List<List<Statement>> groupedStatements = new ArrayList<>();
-                Expression currentActual = null; // The actual argument of the current group of assertThat statements
-                List<Statement> currentGroup = new ArrayList<>();
-                for (Statement statement : originalStatements) {
-                    if (statement instanceof J.MethodInvocation) {
-                        J.MethodInvocation assertion = (J.MethodInvocation) statement;
-                        if (isGroupableAssertion(assertion)) {
-                            J.MethodInvocation assertThat = (J.MethodInvocation) assertion.getSelect();
-                            assert assertThat != null;
-                            Expression actual = assertThat.getArguments().get(0);
-                            if (currentActual == null || !SemanticallyEqual.areEqual(currentActual, actual)) {
-                                // Conclude the previous group
-                                groupedStatements.add(currentGroup);
-                                currentGroup = new ArrayList<>();
-                                currentActual = actual;
-                            }
-                            currentGroup.add(statement);
-                            continue;
-                        }
+            /**
+             * @return the actual argument of the `assertThat` of a groupable assertion, or null if the statement can
+             * not be grouped with any other statement
+             */
+            private @Nullable Expression getGroupableActual(Statement statement) {
+                if (statement instanceof J.MethodInvocation) {
+                    J.MethodInvocation assertion = (J.MethodInvocation) statement;
+                    if (isGroupableAssertion(assertion)) {
+                        J.MethodInvocation assertThat = (J.MethodInvocation) assertion.getSelect();
+                        assert assertThat != null;
+                        return assertThat.getArguments().get(0);
                     }
+                }
+                return null;
+            }
 
-                    // Conclude the previous group, and start a new group
-                    groupedStatements.add(currentGroup);
-                    currentGroup = new ArrayList<>();
-                    currentActual = null;
-                    // The current statement should not be grouped with any other statement
-                    groupedStatements.add(Collections.singletonList(statement));
+            private boolean isSameActual(Expression actual, @Nullable String fingerprint, @Nullable Expression other) {
+                if (other == null) {
+                    return false;
                 }
-                if (!currentGroup.isEmpty()) {
-                    // Conclude the last group
-                    groupedStatements.add(currentGroup);
+                if (fingerprint != null) {
+                    // Different fingerprints rule out semantic equality without comparing the trees
+                    String otherFingerprint = fingerprint(other);
+                    if (otherFingerprint != null && !fingerprint.equals(otherFingerprint)) {
+                        return false;
+                    }
                 }
-                return groupedStatements;
+                return SemanticallyEqual.areEqual(actual, other);
             }
 
             private boolean isGroupableAssertion(J.MethodInvocation assertion) {
@@ -111,7 +121,7 @@ public class CollapseConsecutiveAssertThatStatements extends Recipe {
                 assert !consecutiveAssertThatStatement.isEmpty();
                 Space originalPrefix = consecutiveAssertThatStatement.get(0).getPrefix();
                 String continuationIndent = originalPrefix.getIndent().contains("\t") ? "\t\t" : "        ";
-                Space indentedNewline = Space.format(originalPrefix.getLastWhitespace().replaceAll("^\\s+\n", "\n") +
+                Space indentedNewline = Space.format(LEADING_BLANK_LINES.matcher(originalPrefix.getLastWhitespace()).replaceAll("\n") +
                                                      continuationIndent);
                 J.MethodInvocation collapsed = null;
                 for (Statement st : consecutiveAssertThatStatement) {
@@ -125,6 +135,21 @@ public class CollapseConsecutiveAssertThatStatements extends Recipe {
                 }
                 return collapsed.withPrefix(originalPrefix);
             }
+
+            /**
+             * A cheap fingerprint of the actual argument, which differs between arguments that can not be semantically
+             * equal. Null when no such fingerprint is known for the kind of argument.
+             */
+            private @Nullable String fingerprint(Expression actual) {
+                if (actual instanceof J.Identifier) {
+                    return ((J.Identifier) actual).getSimpleName();
+                } else if (actual instanceof J.FieldAccess) {
+                    return ((J.FieldAccess) actual).getSimpleName();
+                } else if (actual instanceof J.Literal) {
+                    return String.valueOf(((J.Literal) actual).getValue());
+                }
+                return null;
+            }
         });
     }
 }
@@ -20,8 +20,6 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
@@ -50,6 +48,8 @@ public class JUnitAssertArrayEqualsToAssertThat extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(new UsesMethod<>(ASSERT_ARRAY_EQUALS_MATCHER), new JavaIsoVisitor<ExecutionContext>() {
+            private final AssertJTemplates templates = new AssertJTemplates();
+
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation md = super.visitMethodInvocation(method, ctx);
@@ -64,27 +64,18 @@ public class JUnitAssertArrayEqualsToAssertThat extends Recipe {
                 Expression expected = args.get(0);
                 Expression actual = args.get(1);
                 if (args.size() == 2) {
-                    return JavaTemplate.builder("assertThat(#{anyArray()}).containsExactly(#{anyArray()});")
-                            .staticImports(ASSERTJ + ".assertThat")
-                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                            .build()
+                    return templates.get("assertThat(#{anyArray()}).containsExactly(#{anyArray()});", ctx, ASSERTJ + ".assertThat")
                             .apply(getCursor(), md.getCoordinates().replace(), actual, expected);
                 }
                 if (args.size() == 3 && isFloatingPointType(args.get(2))) {
                     maybeAddImport(ASSERTJ, "within", false);
                     // assert is using floating points with a delta and no message.
-                    return JavaTemplate.builder("assertThat(#{anyArray()}).containsExactly(#{anyArray()}, within(#{any()}));")
-                            .staticImports(ASSERTJ + ".assertThat", ASSERTJ + ".within")
-                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                            .build()
+                    return templates.get("assertThat(#{anyArray()}).containsExactly(#{anyArray()}, within(#{any()}));", ctx, ASSERTJ + ".assertThat", ASSERTJ + ".within")
                             .apply(getCursor(), md.getCoordinates().replace(), actual, expected, args.get(2));
                 }
                 if (args.size() == 3) {
                     Expression message = args.get(2);
-                    return JavaTemplate.builder("assertThat(#{anyArray()}).as(#{any()}).containsExactly(#{anyArray()});")
-                            .staticImports(ASSERTJ + ".assertThat")
-                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                            .build()
+                    return templates.getWithMessage("assertThat(#{anyArray()}).as(#{any()}).containsExactly(#{anyArray()});", message, ctx, ASSERTJ + ".assertThat")
                             .apply(getCursor(), md.getCoordinates().replace(), actual, message, expected);
                 }
 
@@ -92,10 +83,7 @@ public class JUnitAssertArrayEqualsToAssertThat extends Recipe {
 
                 // The assertEquals is using a floating point with a delta argument and a message.
                 Expression message = args.get(3);
-                return JavaTemplate.builder("assertThat(#{anyArray()}).as(#{any()}).containsExactly(#{anyArray()}, within(#{}));")
-                        .staticImports(ASSERTJ + ".assertThat", ASSERTJ + ".within")
-                        .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                        .build()
+                return templates.getWithMessage("assertThat(#{anyArray()}).as(#{any()}).containsExactly(#{anyArray()}, within(#{}));", message, ctx, ASSERTJ + ".assertThat", ASSERTJ + ".within")
                         .apply(getCursor(), md.getCoordinates().replace(), actual, message, expected, args.get(2));
             }
 
@@ -20,8 +20,6 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
@@ -50,6 +48,8 @@ public class JUnitAssertEqualsToAssertThat extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(new UsesMethod<>(ASSERT_EQUALS_MATCHER), new JavaIsoVisitor<ExecutionContext>() {
+            private final AssertJTemplates templates = new AssertJTemplates();
+
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
@@ -64,27 +64,17 @@ public class JUnitAssertEqualsToAssertThat extends Recipe {
                 Expression expected = args.get(0);
                 Expression actual = args.get(1);
                 if (args.size() == 2) {
-                    return JavaTemplate.builder("assertThat(#{any()}).isEqualTo(#{any()});")
-                            .staticImports(ASSERTJ + ".assertThat")
-                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                            .build()
+                    return templates.get("assertThat(#{any()}).isEqualTo(#{any()});", ctx, ASSERTJ + ".assertThat")
                             .apply(getCursor(), mi.getCoordinates().replace(), actual, expected);
                 }
                 if (args.size() == 3 && !isFloatingPointType(args.get(2))) {
                     Expression message = args.get(2);
-                    return JavaTemplate.builder("assertThat(#{any()}).as(#{any()}).isEqualTo(#{any()});")
-                            .staticImports(ASSERTJ + ".assertThat")
-                            .imports("java.util.function.Supplier")
-                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                            .build()
+                    return templates.getWithMessage("assertThat(#{any()}).as(#{any()}).isEqualTo(#{any()});", message, ctx, ASSERTJ + ".assertThat")
                             .apply(getCursor(), mi.getCoordinates().replace(), actual, message, expected);
                 }
                 if (args.size() == 3) {
                     maybeAddImport(ASSERTJ, "within", false);
-                    return JavaTemplate.builder("assertThat(#{any()}).isCloseTo(#{any()}, within(#{any()}));")
-                            .staticImports(ASSERTJ + ".assertThat", ASSERTJ + ".within")
-                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                            .build()
+                    return templates.get("assertThat(#{any()}).isCloseTo(#{any()}, within(#{any()}));", ctx, ASSERTJ + ".assertThat", ASSERTJ + ".within")
                             .apply(getCursor(), mi.getCoordinates().replace(), actual, expected, args.get(2));
                 }
 
@@ -92,11 +82,7 @@ public class JUnitAssertEqualsToAssertThat extends Recipe {
 
                 // The assertEquals is using a floating point with a delta argument and a message.
                 Expression message = args.get(3);
-                return JavaTemplate.builder("assertThat(#{any()}).as(#{any()}).isCloseTo(#{any()}, within(#{any()}));")
-                        .staticImports(ASSERTJ + ".assertThat", ASSERTJ + ".within")
-                        .imports("java.util.function.Supplier")
-                        .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                        .build()
+                return templates.getWithMessage("assertThat(#{any()}).as(#{any()}).isCloseTo(#{any()}, within(#{any()}));", message, ctx, ASSERTJ + ".assertThat", ASSERTJ + ".within")
                         .apply(getCursor(), mi.getCoordinates().replace(), actual, message, expected, args.get(2));
             }
 
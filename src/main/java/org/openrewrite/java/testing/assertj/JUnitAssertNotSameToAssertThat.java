@@ -0,0 +1,43 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.assertj;
+
+import org.openrewrite.Recipe;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class JUnitAssertNotSameToAssertThat extends Recipe {
+
+    @Override
+    public String getDisplayName() {
+        return "JUnit `assertNotSame` to AssertJ";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Convert JUnit-style `assertNotSame()` to AssertJ's `assertThat().isNotSameAs()`.";
+    }
+
+    @Override
+    public List<Recipe> getRecipeList() {
+        return Arrays.asList(
+                new JUnitToAssertJRulesRecipes.AssertNotSameRecipe(),
+                new JUnitToAssertJRulesRecipes.AssertNotSameWithMessageRecipe(),
+                new JUnitToAssertJRulesRecipes.AssertNotSameWithMessageSupplierRecipe()
+        );
+    }
+}
@@ -15,24 +15,13 @@
  */
 package org.openrewrite.java.testing.assertj;
 
-import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
-import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesMethod;
-import org.openrewrite.java.tree.Expression;
-import org.openrewrite.java.tree.J;
 
+import java.util.Arrays;
 import java.util.List;
 
 public class JUnitAssertNullToAssertThat extends Recipe {
 
-    private static final MethodMatcher ASSERT_NULL_MATCHER = new MethodMatcher("org.junit.jupiter.api.Assertions assertNull(..)", true);
-
     @Override
     public String getDisplayName() {
         return "JUnit `assertNull` to AssertJ";
@@ -44,35 +33,11 @@ public class JUnitAssertNullToAssertThat extends Recipe {
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesMethod<>(ASSERT_NULL_MATCHER), new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-                J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
-                if (!ASSERT_NULL_MATCHER.matches(mi)) {
-                    return mi;
-                }
-
-                maybeAddImport("org.assertj.core.api.Assertions", "assertThat", false);
-                maybeRemoveImport("org.junit.jupiter.api.Assertions");
-
-                List<Expression> args = mi.getArguments();
-                Expression actual = args.get(0);
-                if (args.size() == 1) {
-                    return JavaTemplate.builder("assertThat(#{any()}).isNull();")
-                            .staticImports("org.assertj.core.api.Assertions.assertThat")
-                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                            .build()
-                            .apply(getCursor(), mi.getCoordinates().replace(), actual);
-                }
-
-                Expression message = args.get(1);
-                return JavaTemplate.builder("assertThat(#{any()}).as(#{any()}).isNull();")
-                        .staticImports("org.assertj.core.api.Assertions.assertThat")
-                        .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                        .build()
-                        .apply(getCursor(), mi.getCoordinates().replace(), actual, message);
-            }
-        });
+    public List<Recipe> getRecipeList() {
+        return Arrays.asList(
+                new JUnitToAssertJRulesRecipes.AssertNullRecipe(),
+                new JUnitToAssertJRulesRecipes.AssertNullWithMessageRecipe(),
+                new JUnitToAssertJRulesRecipes.AssertNullWithMessageSupplierRecipe()
+        );
     }
 }
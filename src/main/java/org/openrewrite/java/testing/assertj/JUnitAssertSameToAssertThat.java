@@ -15,24 +15,13 @@
  */
 package org.openrewrite.java.testing.assertj;
 
-import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
-import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesMethod;
-import org.openrewrite.java.tree.Expression;
-import org.openrewrite.java.tree.J;
 
+import java.util.Arrays;
 import java.util.List;
 
 public class JUnitAssertSameToAssertThat extends Recipe {
 
-    private static final MethodMatcher ASSERT_SAME_MATCHER = new MethodMatcher("org.junit.jupiter.api.Assertions assertSame(..)", true);
-
     @Override
     public String getDisplayName() {
         return "JUnit `assertSame` to AssertJ";
@@ -44,36 +33,11 @@ public class JUnitAssertSameToAssertThat extends Recipe {
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesMethod<>(ASSERT_SAME_MATCHER), new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-                J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
-                if (!ASSERT_SAME_MATCHER.matches(mi)) {
-                    return mi;
-                }
-
-                maybeAddImport("org.assertj.core.api.Assertions", "assertThat", false);
-                maybeRemoveImport("org.junit.jupiter.api.Assertions");
-
-                List<Expression> args = mi.getArguments();
-                Expression expected = args.get(0);
-                Expression actual = args.get(1);
-                if (args.size() == 2) {
-                    return JavaTemplate.builder("assertThat(#{any()}).isSameAs(#{any()});")
-                            .staticImports("org.assertj.core.api.Assertions.assertThat")
-                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                            .build()
-                            .apply(getCursor(), mi.getCoordinates().replace(), actual, expected);
-                }
-
-                Expression message = args.get(2);
-                return JavaTemplate.builder("assertThat(#{any()}).as(#{any()}).isSameAs(#{any()});")
-                        .staticImports("org.assertj.core.api.Assertions.assertThat")
-                        .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                        .build()
-                        .apply(getCursor(), mi.getCoordinates().replace(), actual, message, expected);
-            }
-        });
+    public List<Recipe> getRecipeList() {
+        return Arrays.asList(
+                new JUnitToAssertJRulesRecipes.AssertSameRecipe(),
+                new JUnitToAssertJRulesRecipes.AssertSameWithMessageRecipe(),
+                new JUnitToAssertJRulesRecipes.AssertSameWithMessageSupplierRecipe()
+        );
     }
 }
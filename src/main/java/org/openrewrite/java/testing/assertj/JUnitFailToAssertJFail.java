@@ -47,6 +47,19 @@ public class JUnitFailToAssertJFail extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(new UsesMethod<>(FAIL_MATCHER), new JavaIsoVisitor<ExecutionContext>() {
+            private final AssertJTemplates templates = new AssertJTemplates();
+
+            @Override
+            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                J.CompilationUnit c = super.visitCompilationUnit(cu, ctx);
+                if (c != cu) {
+                    // Clean up once per file, after all `fail` invocations have been replaced
+                    doAfterVisit(new RemoveUnusedImports().getVisitor());
+                    doAfterVisit(new UnqualifiedMethodInvocations());
+                }
+                return c;
+            }
+
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation mi = method;
@@ -58,33 +71,23 @@ public class JUnitFailToAssertJFail extends Recipe {
                 if (args.size() == 1) {
                     // fail(), fail(String), fail(Supplier<String>), fail(Throwable)
                     if (args.get(0) instanceof J.Empty) {
-                        mi = JavaTemplate.builder(ASSERTJ + ".fail(\"\");")
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                                .build()
+                        mi = templates.get(ASSERTJ + ".fail(\"\");", ctx)
                                 .apply(getCursor(), mi.getCoordinates().replace());
                     } else if (args.get(0) instanceof J.Literal ||
                                TypeUtils.isAssignableTo("java.lang.String", args.get(0).getType())) {
-                        mi = JavaTemplate.builder(ASSERTJ + ".fail(#{any()});")
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                                .build()
+                        mi = templates.get(ASSERTJ + ".fail(#{any()});", ctx)
                                 .apply(getCursor(), mi.getCoordinates().replace(), args.get(0));
                     } else {
-                        mi = JavaTemplate.builder(ASSERTJ + ".fail(\"\", #{any()});")
-                                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                                .build()
+                        mi = templates.get(ASSERTJ + ".fail(\"\", #{any()});", ctx)
                                 .apply(getCursor(), mi.getCoordinates().replace(), args.get(0));
                     }
                 } else {
                     // fail(String, Throwable)
                     String anyArgs = String.join(",", Collections.nCopies(args.size(), "#{any()}"));
-                    mi = JavaTemplate.builder(ASSERTJ + ".fail(" + anyArgs + ");")
-                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                            .build()
+                    mi = templates.get(ASSERTJ + ".fail(" + anyArgs + ");", ctx)
                             .apply(getCursor(), mi.getCoordinates().replace(), args.toArray());
                 }
 
-                doAfterVisit(new RemoveUnusedImports().getVisitor());
-                doAfterVisit(new UnqualifiedMethodInvocations());
                 return mi;
             }
 
@@ -103,10 +106,7 @@ public class JUnitFailToAssertJFail extends Recipe {
 
                     List<Expression> arguments = mi.getArguments();
                     String anyArgs = String.join(",", Collections.nCopies(arguments.size(), "#{any()}"));
-                    return JavaTemplate.builder("fail(" + anyArgs + ");")
-                            .staticImports(ASSERTJ + ".fail")
-                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                            .build()
+                    return templates.get("fail(" + anyArgs + ");", ctx, ASSERTJ + ".fail")
                             .apply(getCursor(), mi.getCoordinates().replace(), arguments.toArray());
                 }
             }
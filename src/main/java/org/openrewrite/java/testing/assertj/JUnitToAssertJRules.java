@@ -0,0 +1,344 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.testing.assertj;
+
+import com.google.errorprone.refaster.annotation.AfterTemplate;
+import com.google.errorprone.refaster.annotation.BeforeTemplate;
+import com.google.errorprone.refaster.annotation.UseImportPolicy;
+import org.openrewrite.java.template.RecipeDescriptor;
+
+import java.util.function.Supplier;
+
+import static com.google.errorprone.refaster.ImportPolicy.STATIC_IMPORT_ALWAYS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The JUnit Jupiter assertions that map one to one onto an AssertJ assertion. The conversions that depend on
+ * overloads, like floating point deltas and arrays, are in the recipes that build their own templates.
+ */
+@RecipeDescriptor(
+        name = "JUnit assertions to AssertJ",
+        description = "Convert JUnit Jupiter assertions that map one to one onto an AssertJ assertion."
+)
+public class JUnitToAssertJRules {
+
+    @RecipeDescriptor(
+            name = "JUnit `assertTrue(boolean)` to AssertJ",
+            description = "Convert JUnit-style `assertTrue()` to AssertJ's `assertThat().isTrue()`."
+    )
+    public static class AssertTrue {
+        @BeforeTemplate
+        void before(boolean actual) {
+            assertTrue(actual);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(boolean actual) {
+            assertThat(actual).isTrue();
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertTrue(boolean, String)` to AssertJ",
+            description = "Convert JUnit-style `assertTrue()` with a message to AssertJ's `assertThat().as().isTrue()`."
+    )
+    public static class AssertTrueWithMessage {
+        @BeforeTemplate
+        void before(boolean actual, String message) {
+            assertTrue(actual, message);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(boolean actual, String message) {
+            assertThat(actual).as(message).isTrue();
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertTrue(boolean, Supplier<String>)` to AssertJ",
+            description = "Convert JUnit-style `assertTrue()` with a message supplier to AssertJ's `assertThat().as().isTrue()`."
+    )
+    public static class AssertTrueWithMessageSupplier {
+        @BeforeTemplate
+        void before(boolean actual, Supplier<String> messageSupplier) {
+            assertTrue(actual, messageSupplier);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(boolean actual, Supplier<String> messageSupplier) {
+            assertThat(actual).as(messageSupplier).isTrue();
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertFalse(boolean)` to AssertJ",
+            description = "Convert JUnit-style `assertFalse()` to AssertJ's `assertThat().isFalse()`."
+    )
+    public static class AssertFalse {
+        @BeforeTemplate
+        void before(boolean actual) {
+            assertFalse(actual);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(boolean actual) {
+            assertThat(actual).isFalse();
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertFalse(boolean, String)` to AssertJ",
+            description = "Convert JUnit-style `assertFalse()` with a message to AssertJ's `assertThat().as().isFalse()`."
+    )
+    public static class AssertFalseWithMessage {
+        @BeforeTemplate
+        void before(boolean actual, String message) {
+            assertFalse(actual, message);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(boolean actual, String message) {
+            assertThat(actual).as(message).isFalse();
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertFalse(boolean, Supplier<String>)` to AssertJ",
+            description = "Convert JUnit-style `assertFalse()` with a message supplier to AssertJ's `assertThat().as().isFalse()`."
+    )
+    public static class AssertFalseWithMessageSupplier {
+        @BeforeTemplate
+        void before(boolean actual, Supplier<String> messageSupplier) {
+            assertFalse(actual, messageSupplier);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(boolean actual, Supplier<String> messageSupplier) {
+            assertThat(actual).as(messageSupplier).isFalse();
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertNull(Object)` to AssertJ",
+            description = "Convert JUnit-style `assertNull()` to AssertJ's `assertThat().isNull()`."
+    )
+    public static class AssertNull {
+        @BeforeTemplate
+        void before(Object actual) {
+            assertNull(actual);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(Object actual) {
+            assertThat(actual).isNull();
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertNull(Object, String)` to AssertJ",
+            description = "Convert JUnit-style `assertNull()` with a message to AssertJ's `assertThat().as().isNull()`."
+    )
+    public static class AssertNullWithMessage {
+        @BeforeTemplate
+        void before(Object actual, String message) {
+            assertNull(actual, message);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(Object actual, String message) {
+            assertThat(actual).as(message).isNull();
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertNull(Object, Supplier<String>)` to AssertJ",
+            description = "Convert JUnit-style `assertNull()` with a message supplier to AssertJ's `assertThat().as().isNull()`."
+    )
+    public static class AssertNullWithMessageSupplier {
+        @BeforeTemplate
+        void before(Object actual, Supplier<String> messageSupplier) {
+            assertNull(actual, messageSupplier);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(Object actual, Supplier<String> messageSupplier) {
+            assertThat(actual).as(messageSupplier).isNull();
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertNotNull(Object)` to AssertJ",
+            description = "Convert JUnit-style `assertNotNull()` to AssertJ's `assertThat().isNotNull()`."
+    )
+    public static class AssertNotNull {
+        @BeforeTemplate
+        void before(Object actual) {
+            assertNotNull(actual);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(Object actual) {
+            assertThat(actual).isNotNull();
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertNotNull(Object, String)` to AssertJ",
+            description = "Convert JUnit-style `assertNotNull()` with a message to AssertJ's `assertThat().as().isNotNull()`."
+    )
+    public static class AssertNotNullWithMessage {
+        @BeforeTemplate
+        void before(Object actual, String message) {
+            assertNotNull(actual, message);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(Object actual, String message) {
+            assertThat(actual).as(message).isNotNull();
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertNotNull(Object, Supplier<String>)` to AssertJ",
+            description = "Convert JUnit-style `assertNotNull()` with a message supplier to AssertJ's `assertThat().as().isNotNull()`."
+    )
+    public static class AssertNotNullWithMessageSupplier {
+        @BeforeTemplate
+        void before(Object actual, Supplier<String> messageSupplier) {
+            assertNotNull(actual, messageSupplier);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(Object actual, Supplier<String> messageSupplier) {
+            assertThat(actual).as(messageSupplier).isNotNull();
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertSame(Object, Object)` to AssertJ",
+            description = "Convert JUnit-style `assertSame()` to AssertJ's `assertThat().isSameAs()`."
+    )
+    public static class AssertSame {
+        @BeforeTemplate
+        void before(Object expected, Object actual) {
+            assertSame(expected, actual);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(Object expected, Object actual) {
+            assertThat(actual).isSameAs(expected);
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertSame(Object, Object, String)` to AssertJ",
+            description = "Convert JUnit-style `assertSame()` with a message to AssertJ's `assertThat().as().isSameAs()`."
+    )
+    public static class AssertSameWithMessage {
+        @BeforeTemplate
+        void before(Object expected, Object actual, String message) {
+            assertSame(expected, actual, message);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(Object expected, Object actual, String message) {
+            assertThat(actual).as(message).isSameAs(expected);
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertSame(Object, Object, Supplier<String>)` to AssertJ",
+            description = "Convert JUnit-style `assertSame()` with a message supplier to AssertJ's `assertThat().as().isSameAs()`."
+    )
+    public static class AssertSameWithMessageSupplier {
+        @BeforeTemplate
+        void before(Object expected, Object actual, Supplier<String> messageSupplier) {
+            assertSame(expected, actual, messageSupplier);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(Object expected, Object actual, Supplier<String> messageSupplier) {
+            assertThat(actual).as(messageSupplier).isSameAs(expected);
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertNotSame(Object, Object)` to AssertJ",
+            description = "Convert JUnit-style `assertNotSame()` to AssertJ's `assertThat().isNotSameAs()`."
+    )
+    public static class AssertNotSame {
+        @BeforeTemplate
+        void before(Object expected, Object actual) {
+            assertNotSame(expected, actual);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(Object expected, Object actual) {
+            assertThat(actual).isNotSameAs(expected);
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertNotSame(Object, Object, String)` to AssertJ",
+            description = "Convert JUnit-style `assertNotSame()` with a message to AssertJ's `assertThat().as().isNotSameAs()`."
+    )
+    public static class AssertNotSameWithMessage {
+        @BeforeTemplate
+        void before(Object expected, Object actual, String message) {
+            assertNotSame(expected, actual, message);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(Object expected, Object actual, String message) {
+            assertThat(actual).as(message).isNotSameAs(expected);
+        }
+    }
+
+    @RecipeDescriptor(
+            name = "JUnit `assertNotSame(Object, Object, Supplier<String>)` to AssertJ",
+            description = "Convert JUnit-style `assertNotSame()` with a message supplier to AssertJ's `assertThat().as().isNotSameAs()`."
+    )
+    public static class AssertNotSameWithMessageSupplier {
+        @BeforeTemplate
+        void before(Object expected, Object actual, Supplier<String> messageSupplier) {
+            assertNotSame(expected, actual, messageSupplier);
+        }
+
+        @AfterTemplate
+        @UseImportPolicy(STATIC_IMPORT_ALWAYS)
+        void after(Object expected, Object actual, Supplier<String> messageSupplier) {
+            assertThat(actual).as(messageSupplier).isNotSameAs(expected);
+        }
+    }
+}
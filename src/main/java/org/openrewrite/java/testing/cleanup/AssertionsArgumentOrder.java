@@ -23,6 +23,7 @@ import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.ScopedAutoFormat;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.Flag;
 import org.openrewrite.java.tree.J;
@@ -126,14 +127,14 @@ public class AssertionsArgumentOrder extends Recipe {
             }
 
             if (!isCorrectOrder(expected, actual, mi)) {
-                mi = maybeAutoFormat(mi, mi.withArguments(ListUtils.map(mi.getArguments(), arg -> {
+                mi = ScopedAutoFormat.maybeAutoFormat(mi, mi.withArguments(ListUtils.map(mi.getArguments(), arg -> {
                     if (arg.equals(actual)) {
                         return expected;
                     } else if (arg.equals(expected)) {
                         return actual;
                     }
                     return arg;
-                })), ctx, getCursor().getParentOrThrow());
+                })), null, ctx, getCursor().getParentOrThrow());
             }
             return mi;
         }
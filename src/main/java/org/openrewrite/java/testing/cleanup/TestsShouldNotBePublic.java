@@ -24,9 +24,8 @@ import org.openrewrite.Option;
 import org.openrewrite.ScanningRecipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
-import org.openrewrite.java.ChangeMethodAccessLevelVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.testing.ScopedAutoFormat;
 import org.openrewrite.java.tree.Comment;
 import org.openrewrite.java.tree.Flag;
 import org.openrewrite.java.tree.J;
@@ -120,25 +119,12 @@ public class TestsShouldNotBePublic extends ScanningRecipe<TestsShouldNotBePubli
                 if (hasTestMethods && !hasPublicNonTestMethods && !hasPublicVariableDeclarations) {
                     // Remove public modifier and move associated comment
                     final List<Comment> modifierComments = new ArrayList<>();
-                    List<J.Modifier> modifiers = ListUtils.map(c.getModifiers(), mod -> {
-                        if (mod.getType() == J.Modifier.Type.Public) {
-                            modifierComments.addAll(mod.getComments());
-                            return null;
-                        }
-
-                        // copy access level modifier comment to next modifier if it exists
-                        if (!modifierComments.isEmpty()) {
-                            J.Modifier nextModifier = mod.withComments(ListUtils.concatAll(new ArrayList<>(modifierComments), mod.getComments()));
-                            modifierComments.clear();
-                            return nextModifier;
-                        }
-                        return mod;
-                    });
-                    // if no following modifier exists, add comments to method itself
+                    List<J.Modifier> modifiers = removeModifier(c.getModifiers(), J.Modifier.Type.Public, modifierComments);
+                    // if no following modifier exists, add comments to class itself
                     if (!modifierComments.isEmpty()) {
                         c = c.withComments(ListUtils.concatAll(c.getComments(), modifierComments));
                     }
-                    c = maybeAutoFormat(c, c.withModifiers(modifiers), c.getName(), ctx, getCursor().getParentTreeCursor());
+                    c = ScopedAutoFormat.maybeAutoFormat(c, c.withModifiers(modifiers), c.getName(), ctx, getCursor().getParentTreeCursor());
                 }
             }
             return c;
@@ -159,13 +145,42 @@ public class TestsShouldNotBePublic extends ScanningRecipe<TestsShouldNotBePubli
 
             if ((m.hasModifier(J.Modifier.Type.Public) || (orProtected && m.hasModifier(J.Modifier.Type.Protected))) &&
                 hasJUnit5MethodAnnotation(m)) {
-                // remove public modifier
-                doAfterVisit(new ChangeMethodAccessLevelVisitor<>(new MethodMatcher(method), null));
+                // remove public modifier and move associated comment
+                final List<Comment> modifierComments = new ArrayList<>();
+                J.Modifier.Type accessLevel = m.hasModifier(J.Modifier.Type.Public) ? J.Modifier.Type.Public : J.Modifier.Type.Protected;
+                List<J.Modifier> modifiers = removeModifier(m.getModifiers(), accessLevel, modifierComments);
+                // if no following modifier exists, add comments to method itself
+                J.MethodDeclaration withoutAccessLevel = m.withModifiers(modifiers);
+                if (!modifierComments.isEmpty()) {
+                    withoutAccessLevel = withoutAccessLevel.withComments(ListUtils.concatAll(m.getComments(), modifierComments));
+                }
+                m = ScopedAutoFormat.maybeAutoFormat(m, withoutAccessLevel, m.getName(), ctx, getCursor().getParentTreeCursor());
             }
 
             return m;
         }
 
+        /**
+         * Remove the modifier of the given type, moving its comments to the next modifier. The comments are left in
+         * {@code modifierComments} when no modifier follows.
+         */
+        private static List<J.Modifier> removeModifier(List<J.Modifier> modifiers, J.Modifier.Type type, List<Comment> modifierComments) {
+            return ListUtils.map(modifiers, mod -> {
+                if (mod.getType() == type) {
+                    modifierComments.addAll(mod.getComments());
+                    return null;
+                }
+
+                // copy access level modifier comment to next modifier if it exists
+                if (!modifierComments.isEmpty()) {
+                    J.Modifier nextModifier = mod.withComments(ListUtils.concatAll(new ArrayList<>(modifierComments), mod.getComments()));
+                    modifierComments.clear();
+                    return nextModifier;
+                }
+                return mod;
+            });
+        }
+
         private boolean hasJUnit5MethodAnnotation(J.MethodDeclaration method) {
             for (J.Annotation a : method.getLeadingAnnotations()) {
                 if (TypeUtils.isOfClassType(a.getType(), "org.junit.jupiter.api.Test") ||
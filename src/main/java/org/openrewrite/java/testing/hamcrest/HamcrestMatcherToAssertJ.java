@@ -29,13 +29,16 @@ import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.regex.Pattern;
 
 @NoArgsConstructor
 @AllArgsConstructor
 public class HamcrestMatcherToAssertJ extends Recipe {
+    private static final MethodMatcher ASSERT_THAT_MATCHER = new MethodMatcher("org.hamcrest.MatcherAssert assertThat(..)");
+    private static final MethodMatcher SUB_MATCHER = new MethodMatcher("org.hamcrest.*Matchers *(org.hamcrest.Matcher)");
+    private static final MethodMatcher CLOSE_TO_MATCHER = new MethodMatcher("org.hamcrest.Matchers closeTo(..)");
+    private static final Pattern TYPE_PARAMETERS = Pattern.compile("<.*>");
 
     @Option(displayName = "Hamcrest matcher",
             description = "The Hamcrest `Matcher` to migrate to JUnit5.",
@@ -74,14 +77,20 @@ public class HamcrestMatcherToAssertJ extends Recipe {
     }
 
     private class MigrateToAssertJVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private final MethodMatcher assertThatMatcher = new MethodMatcher("org.hamcrest.MatcherAssert assertThat(..)");
         private final MethodMatcher matchersMatcher = new MethodMatcher("org.hamcrest.*Matchers " + matcher + "(..)");
-        private final MethodMatcher subMatcher = new MethodMatcher("org.hamcrest.*Matchers *(org.hamcrest.Matcher)");
+
+        /**
+         * The templates by their code, which only varies with the indicators of the argument types and the reason.
+         */
+        private final Map<String, JavaTemplate> templates = new HashMap<>();
+        private final Map<JavaType, String> indicators = new IdentityHashMap<>();
+
+        private JavaParser.@Nullable Builder<?, ?> javaParser;
 
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
-            if (assertThatMatcher.matches(mi)) {
+            if (ASSERT_THAT_MATCHER.matches(mi)) {
                 return replace(mi, ctx);
             }
             return mi;
@@ -92,7 +101,7 @@ public class HamcrestMatcherToAssertJ extends Recipe {
             Expression reasonArgument = mia.size() == 3 ? mia.get(0) : null;
             Expression actualArgument = mia.get(mia.size() - 2);
             Expression matcherArgument = mia.get(mia.size() - 1);
-            if (!matchersMatcher.matches(matcherArgument) || subMatcher.matches(matcherArgument)) {
+            if (!matchersMatcher.matches(matcherArgument) || SUB_MATCHER.matches(matcherArgument)) {
                 return mi;
             }
             if (argumentType != null && !TypeUtils.isOfClassType(actualArgument.getType(), argumentType)) {
@@ -101,16 +110,11 @@ public class HamcrestMatcherToAssertJ extends Recipe {
 
             String actual = typeToIndicator(actualArgument.getType());
             J.MethodInvocation matcherArgumentMethod = (J.MethodInvocation) matcherArgument;
-            JavaTemplate template = JavaTemplate.builder(String.format(
-                            "assertThat(%s)" +
-                            (reasonArgument != null ? ".as(#{any(String)})" : "") +
-                            ".%s(%s)",
-                            actual, assertion, getArgumentsTemplate(matcherArgumentMethod)))
-                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24"))
-                    .staticImports(
-                            "org.assertj.core.api.Assertions.assertThat",
-                            "org.assertj.core.api.Assertions.within")
-                    .build();
+            JavaTemplate template = template(String.format(
+                    "assertThat(%s)" +
+                    (reasonArgument != null ? ".as(#{any(String)})" : "") +
+                    ".%s(%s)",
+                    actual, assertion, getArgumentsTemplate(matcherArgumentMethod)), ctx);
             maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
             maybeAddImport("org.assertj.core.api.Assertions", "within");
             maybeRemoveImport("org.hamcrest.Matchers." + matcher);
@@ -131,7 +135,22 @@ public class HamcrestMatcherToAssertJ extends Recipe {
             return template.apply(getCursor(), mi.getCoordinates().replace(), templateArguments.toArray());
         }
 
-        private final MethodMatcher CLOSE_TO_MATCHER = new MethodMatcher("org.hamcrest.Matchers closeTo(..)");
+        private JavaTemplate template(String code, ExecutionContext ctx) {
+            JavaTemplate template = templates.get(code);
+            if (template == null) {
+                if (javaParser == null) {
+                    javaParser = JavaParser.fromJavaVersion().classpathFromResources(ctx, "assertj-core-3.24");
+                }
+                template = JavaTemplate.builder(code)
+                        .javaParser(javaParser)
+                        .staticImports(
+                                "org.assertj.core.api.Assertions.assertThat",
+                                "org.assertj.core.api.Assertions.within")
+                        .build();
+                templates.put(code, template);
+            }
+            return template;
+        }
 
         private String getArgumentsTemplate(J.MethodInvocation matcherArgument) {
             List<Expression> methodArguments = matcherArgument.getArguments();
@@ -140,21 +159,28 @@ public class HamcrestMatcherToAssertJ extends Recipe {
                         typeToIndicator(methodArguments.get(0).getType()),
                         typeToIndicator(methodArguments.get(1).getType()));
             }
-            return methodArguments.stream()
-                    .filter(a -> !(a instanceof J.Empty))
-                    .map(a -> typeToIndicator(a.getType()))
-                    .collect(Collectors.joining(", "));
+            StringJoiner argumentsTemplate = new StringJoiner(", ");
+            for (Expression argument : methodArguments) {
+                if (!(argument instanceof J.Empty)) {
+                    argumentsTemplate.add(typeToIndicator(argument.getType()));
+                }
+            }
+            return argumentsTemplate.toString();
         }
 
         private String typeToIndicator(JavaType type) {
+            return indicators.computeIfAbsent(type, this::computeTypeIndicator);
+        }
+
+        private String computeTypeIndicator(JavaType type) {
             if (type instanceof JavaType.Array) {
                 type = ((JavaType.Array) type).getElemType();
                 String str = type instanceof JavaType.Primitive || type.toString().startsWith("java.") ?
-                        type.toString().replaceAll("<.*>", "") : "java.lang.Object";
+                        TYPE_PARAMETERS.matcher(type.toString()).replaceAll("") : "java.lang.Object";
                 return String.format("#{anyArray(%s)}", str);
             } else {
                 String str = type instanceof JavaType.Primitive || type.toString().startsWith("java.") ?
-                        type.toString().replaceAll("<.*>", "") : "java.lang.Object";
+                        TYPE_PARAMETERS.matcher(type.toString()).replaceAll("") : "java.lang.Object";
                 return String.format("#{any(%s)}", str);
             }
         }
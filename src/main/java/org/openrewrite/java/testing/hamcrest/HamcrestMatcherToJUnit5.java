@@ -15,6 +15,7 @@
  */
 package org.openrewrite.java.testing.hamcrest;
 
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
@@ -27,10 +28,7 @@ import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.function.BiFunction;
 
 public class HamcrestMatcherToJUnit5 extends Recipe {
@@ -55,70 +53,88 @@ public class HamcrestMatcherToJUnit5 extends Recipe {
     }
 
     enum Replacement {
-        EQUALTO("equalTo", "assertEquals", "assertNotEquals", "#{any(java.lang.Object)}, #{any(java.lang.Object)}", "examinedObjThenMatcherArgs"),
-        EMPTYARRAY("emptyArray", "assertEquals", "assertNotEquals", "0, #{anyArray(java.lang.Object)}.length", "examinedObjOnly"),
-        HASENTRY("hasEntry", "assertEquals", "assertNotEquals", "#{any(java.lang.Object)}, #{any(java.util.Map)}.get(#{any(java.lang.Object)})", "matcher1ExaminedObjMatcher0"),
-        HASSIZE("hasSize", "assertEquals", "assertNotEquals", "#{any(java.util.Collection)}.size(), #{any(double)}", "examinedObjThenMatcherArgs"),
-        HASTOSTRING("hasToString", "assertEquals", "assertNotEquals", "#{any(java.lang.Object)}.toString(), #{any(java.lang.String)}", "examinedObjThenMatcherArgs"),
-        CLOSETO("closeTo", "assertTrue", "assertFalse", "Math.abs(#{any(double)} - #{any(double)}) < #{any(double)}", "examinedObjThenMatcherArgs"),
-        CONTAINSSTRING("containsString", "assertTrue", "assertFalse", "#{any(java.lang.String)}.contains(#{any(java.lang.String)}", "examinedObjThenMatcherArgs"),
-        EMPTY("empty", "assertTrue", "assertFalse", "#{any(java.util.Collection)}.isEmpty()", "examinedObjOnly"),
-        ENDSWITH("endsWith", "assertTrue", "assertFalse", "#{any(java.lang.String)}.endsWith(#{any(java.lang.String)})", "examinedObjThenMatcherArgs"),
-        EQUALTOIGNORINGCASE("equalToIgnoringCase", "assertTrue", "assertFalse", "#{any(java.lang.String)}.equalsIgnoreCase(#{any(java.lang.String)})", "examinedObjThenMatcherArgs"),
-        GREATERTHAN("greaterThan", "assertTrue", "assertFalse", "#{any(double)} > #{any(double)}", "examinedObjThenMatcherArgs"),
-        GREATERTHANOREQUALTO("greaterThanOrEqualTo", "assertTrue", "assertFalse", "#{any(double)} >= #{any(double)}", "examinedObjThenMatcherArgs"),
-        HASKEY("hasKey", "assertTrue", "assertFalse", "#{any(java.util.Map)}.containsKey(#{any(java.lang.Object)})", "examinedObjThenMatcherArgs"),
-        HASVALUE("hasValue", "assertTrue", "assertFalse", "#{any(java.util.Map)}.containsValue(#{any(java.lang.Object)})", "examinedObjThenMatcherArgs"),
-        LESSTHAN("lessThan", "assertTrue", "assertFalse", "#{any(double)} < #{any(double)}", "examinedObjThenMatcherArgs"),
-        LESSTHANOREQUALTO("lessThanOrEqualTo", "assertTrue", "assertFalse", "#{any(double)} <= #{any(double)}", "examinedObjThenMatcherArgs"),
-        STARTSWITH("startsWith", "assertTrue", "assertFalse", "#{any(java.lang.String)}.startsWith(#{any(java.lang.String)})", "examinedObjThenMatcherArgs"),
-        TYPECOMPATIBLEWITH("typeCompatibleWith", "assertTrue", "assertFalse", "#{any(java.lang.Class)}.isAssignableFrom(#{any(java.lang.Class)})", "matcherArgsThenExaminedObj"),
-        NOTNULLVALUE("notNullValue", "assertNotNull", "assertNull", "#{any(java.lang.Object)}", "examinedObjOnly"),
-        NULLVALUE("nullValue", "assertNull", "assertNotNull", "#{any(java.lang.Object)}", "examinedObjOnly"),
-        SAMEINSTANCE("sameInstance", "assertSame", "assertNotSame", "#{any(java.lang.Object)}, #{any(java.lang.Object)}", "examinedObjThenMatcherArgs"),
-        THEINSTANCE("theInstance", "assertSame", "assertNotSame", "#{any(java.lang.Object)}, #{any(java.lang.Object)}", "examinedObjThenMatcherArgs"),
-        EMPTYITERABLE("emptyIterable", "assertFalse", "assertTrue", "#{any(java.lang.Iterable)}.iterator().hasNext()", "examinedObjOnly");
-
-        final String hamcrest, junitPositive, junitNegative, template;
-        final String argumentsMethod;
-
-        private static final Map<String, BiFunction<Expression, J.MethodInvocation, List<Expression>>> methods = new HashMap<>();
+        EQUALTO("equalTo", "assertEquals", "assertNotEquals", "#{any(java.lang.Object)}, #{any(java.lang.Object)}", Replacement::examinedObjThenMatcherArgs),
+        EMPTYARRAY("emptyArray", "assertEquals", "assertNotEquals", "0, #{anyArray(java.lang.Object)}.length", Replacement::examinedObjOnly),
+        HASENTRY("hasEntry", "assertEquals", "assertNotEquals", "#{any(java.lang.Object)}, #{any(java.util.Map)}.get(#{any(java.lang.Object)})", Replacement::matcher1ExaminedObjMatcher0),
+        HASSIZE("hasSize", "assertEquals", "assertNotEquals", "#{any(java.util.Collection)}.size(), #{any(double)}", Replacement::examinedObjThenMatcherArgs),
+        HASTOSTRING("hasToString", "assertEquals", "assertNotEquals", "#{any(java.lang.Object)}.toString(), #{any(java.lang.String)}", Replacement::examinedObjThenMatcherArgs),
+        CLOSETO("closeTo", "assertTrue", "assertFalse", "Math.abs(#{any(double)} - #{any(double)}) < #{any(double)}", Replacement::examinedObjThenMatcherArgs),
+        CONTAINSSTRING("containsString", "assertTrue", "assertFalse", "#{any(java.lang.String)}.contains(#{any(java.lang.String)}", Replacement::examinedObjThenMatcherArgs),
+        EMPTY("empty", "assertTrue", "assertFalse", "#{any(java.util.Collection)}.isEmpty()", Replacement::examinedObjOnly),
+        ENDSWITH("endsWith", "assertTrue", "assertFalse", "#{any(java.lang.String)}.endsWith(#{any(java.lang.String)})", Replacement::examinedObjThenMatcherArgs),
+        EQUALTOIGNORINGCASE("equalToIgnoringCase", "assertTrue", "assertFalse", "#{any(java.lang.String)}.equalsIgnoreCase(#{any(java.lang.String)})", Replacement::examinedObjThenMatcherArgs),
+        GREATERTHAN("greaterThan", "assertTrue", "assertFalse", "#{any(double)} > #{any(double)}", Replacement::examinedObjThenMatcherArgs),
+        GREATERTHANOREQUALTO("greaterThanOrEqualTo", "assertTrue", "assertFalse", "#{any(double)} >= #{any(double)}", Replacement::examinedObjThenMatcherArgs),
+        HASKEY("hasKey", "assertTrue", "assertFalse", "#{any(java.util.Map)}.containsKey(#{any(java.lang.Object)})", Replacement::examinedObjThenMatcherArgs),
+        HASVALUE("hasValue", "assertTrue", "assertFalse", "#{any(java.util.Map)}.containsValue(#{any(java.lang.Object)})", Replacement::examinedObjThenMatcherArgs),
+        LESSTHAN("lessThan", "assertTrue", "assertFalse", "#{any(double)} < #{any(double)}", Replacement::examinedObjThenMatcherArgs),
+        LESSTHANOREQUALTO("lessThanOrEqualTo", "assertTrue", "assertFalse", "#{any(double)} <= #{any(double)}", Replacement::examinedObjThenMatcherArgs),
+        STARTSWITH("startsWith", "assertTrue", "assertFalse", "#{any(java.lang.String)}.startsWith(#{any(java.lang.String)})", Replacement::examinedObjThenMatcherArgs),
+        TYPECOMPATIBLEWITH("typeCompatibleWith", "assertTrue", "assertFalse", "#{any(java.lang.Class)}.isAssignableFrom(#{any(java.lang.Class)})", Replacement::matcherArgsThenExaminedObj),
+        NOTNULLVALUE("notNullValue", "assertNotNull", "assertNull", "#{any(java.lang.Object)}", Replacement::examinedObjOnly),
+        NULLVALUE("nullValue", "assertNull", "assertNotNull", "#{any(java.lang.Object)}", Replacement::examinedObjOnly),
+        SAMEINSTANCE("sameInstance", "assertSame", "assertNotSame", "#{any(java.lang.Object)}, #{any(java.lang.Object)}", Replacement::examinedObjThenMatcherArgs),
+        THEINSTANCE("theInstance", "assertSame", "assertNotSame", "#{any(java.lang.Object)}, #{any(java.lang.Object)}", Replacement::examinedObjThenMatcherArgs),
+        EMPTYITERABLE("emptyIterable", "assertFalse", "assertTrue", "#{any(java.lang.Iterable)}.iterator().hasNext()", Replacement::examinedObjOnly);
+
+        private static final Map<String, Replacement> BY_HAMCREST = new HashMap<>();
 
         static {
-            methods.put("examinedObjThenMatcherArgs", (ex, matcher) -> {
-                List<Expression> arguments = matcher.getArguments();
-                arguments.add(0, ex);
-                return arguments;
-            });
-            methods.put("matcherArgsThenExaminedObj", (ex, matcher) -> {
-                List<Expression> arguments = matcher.getArguments();
-                arguments.add(ex);
-                return arguments;
-            });
-            methods.put("examinedObjOnly", (ex, matcher) -> {
-                List<Expression> arguments = new ArrayList<>();
-                arguments.add(ex);
-                return arguments;
-            });
-            methods.put("matcher1ExaminedObjMatcher0", (ex, matcher) -> {
-                List<Expression> arguments = new ArrayList<>();
-                arguments.add(matcher.getArguments().get(1));
-                arguments.add(ex);
-                arguments.add(matcher.getArguments().get(0));
-                return arguments;
-            });
+            for (Replacement replacement : values()) {
+                BY_HAMCREST.put(replacement.hamcrest, replacement);
+            }
         }
 
-        Replacement(String hamcrest, String junitPositive, String junitNegative, String template, String argumentsMethod) {
+        final String hamcrest, junitPositive, junitNegative, template;
+        final BiFunction<Expression, J.MethodInvocation, List<Expression>> arguments;
+
+        Replacement(String hamcrest, String junitPositive, String junitNegative, String template,
+                    BiFunction<Expression, J.MethodInvocation, List<Expression>> arguments) {
             this.hamcrest = hamcrest;
             this.junitPositive = junitPositive;
             this.junitNegative = junitNegative;
             this.template = template;
-            this.argumentsMethod = argumentsMethod;
+            this.arguments = arguments;
+        }
+
+        static @Nullable Replacement forHamcrest(String hamcrest) {
+            return BY_HAMCREST.get(hamcrest);
+        }
+
+        private static List<Expression> examinedObjThenMatcherArgs(Expression ex, J.MethodInvocation matcher) {
+            List<Expression> arguments = matcher.getArguments();
+            arguments.add(0, ex);
+            return arguments;
+        }
+
+        private static List<Expression> matcherArgsThenExaminedObj(Expression ex, J.MethodInvocation matcher) {
+            List<Expression> arguments = matcher.getArguments();
+            arguments.add(ex);
+            return arguments;
+        }
+
+        private static List<Expression> examinedObjOnly(Expression ex, J.MethodInvocation matcher) {
+            List<Expression> arguments = new ArrayList<>();
+            arguments.add(ex);
+            return arguments;
+        }
+
+        private static List<Expression> matcher1ExaminedObjMatcher0(Expression ex, J.MethodInvocation matcher) {
+            List<Expression> arguments = new ArrayList<>();
+            arguments.add(matcher.getArguments().get(1));
+            arguments.add(ex);
+            arguments.add(matcher.getArguments().get(0));
+            return arguments;
         }
     }
 
     private static class MigrationFromHamcrestVisitor extends JavaIsoVisitor<ExecutionContext> {
+        /**
+         * The templates of each replacement, for the positive and negated assertion, with and without a reason.
+         */
+        private final Map<Replacement, JavaTemplate[]> templates = new EnumMap<>(Replacement.class);
+
+        private JavaParser.@Nullable Builder<?, ?> javaParser;
 
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
@@ -160,24 +176,18 @@ public class HamcrestMatcherToJUnit5 extends Recipe {
 
                     boolean logicalContext = RemoveNotMatcherVisitor.getLogicalContext(matcherInvocation, ctx);
 
-                    Replacement replacement;
-                    try {
-                        replacement = Replacement.valueOf(matcherInvocation.getSimpleName().toUpperCase());
-                    } catch (IllegalArgumentException e) {
+                    Replacement replacement = Replacement.forHamcrest(matcherInvocation.getSimpleName());
+                    if (replacement == null) {
                         return mi;
                     }
                     String assertion = logicalContext ? replacement.junitPositive : replacement.junitNegative;
-                    String templateString = assertion + "(" + replacement.template + (reason == null ? ")" : ", #{any(java.lang.String)})");
-                    JavaTemplate template = JavaTemplate.builder(templateString)
-                            .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "junit-jupiter-api-5.9"))
-                            .staticImports("org.junit.jupiter.api.Assertions." + assertion)
-                            .build();
+                    JavaTemplate template = template(replacement, assertion, logicalContext, reason != null, ctx);
 
                     maybeRemoveImport("org.hamcrest.Matchers." + replacement.hamcrest);
                     maybeRemoveImport("org.hamcrest.CoreMatchers." + replacement.hamcrest);
                     maybeAddImport("org.junit.jupiter.api.Assertions", assertion);
 
-                    List<Expression> arguments = Replacement.methods.get(replacement.argumentsMethod).apply(examinedObject, matcherInvocation);
+                    List<Expression> arguments = replacement.arguments.apply(examinedObject, matcherInvocation);
                     if (reason != null) {
                         arguments.add(reason);
                     }
@@ -187,5 +197,20 @@ public class HamcrestMatcherToJUnit5 extends Recipe {
             }
             return mi;
         }
+
+        private JavaTemplate template(Replacement replacement, String assertion, boolean logicalContext, boolean withReason, ExecutionContext ctx) {
+            JavaTemplate[] replacementTemplates = templates.computeIfAbsent(replacement, r -> new JavaTemplate[4]);
+            int index = (logicalContext ? 0 : 1) + (withReason ? 2 : 0);
+            if (replacementTemplates[index] == null) {
+                if (javaParser == null) {
+                    javaParser = JavaParser.fromJavaVersion().classpathFromResources(ctx, "junit-jupiter-api-5.9");
+                }
+                replacementTemplates[index] = JavaTemplate.builder(assertion + "(" + replacement.template + (withReason ? ", #{any(java.lang.String)})" : ")"))
+                        .javaParser(javaParser)
+                        .staticImports("org.junit.jupiter.api.Assertions." + assertion)
+                        .build();
+            }
+            return replacementTemplates[index];
+        }
     }
 }
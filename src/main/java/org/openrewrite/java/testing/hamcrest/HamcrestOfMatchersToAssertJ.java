@@ -15,6 +15,7 @@
  */
 package org.openrewrite.java.testing.hamcrest;
 
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
@@ -29,8 +30,11 @@ import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 public class HamcrestOfMatchersToAssertJ extends Recipe {
     @Override
@@ -56,6 +60,14 @@ public class HamcrestOfMatchersToAssertJ extends Recipe {
     }
 
     private static class AnyOfToAssertJVisitor extends JavaIsoVisitor<ExecutionContext> {
+        /**
+         * The templates by arity, for each matcher and whether a reason is passed.
+         */
+        private final List<Map<Integer, JavaTemplate>> templates = Arrays.asList(
+                new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
+
+        private JavaParser.@Nullable Builder<?, ?> javaParser;
+
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation methodInvocation, ExecutionContext ctx) {
             J.MethodInvocation mi = super.visitMethodInvocation(methodInvocation, ctx);
@@ -72,41 +84,55 @@ public class HamcrestOfMatchersToAssertJ extends Recipe {
                 return mi;
             }
 
+            boolean hasReason = arguments.size() == 3;
+            List<Object> parameters = new ArrayList<>();
+            parameters.add(arguments.get(arguments.size() - 2));
+            if (hasReason) {
+                parameters.add(arguments.get(0));
+            }
+            parameters.addAll(anyOfArguments);
+
+            maybeRemoveImport("org.hamcrest.Matchers.anyOf");
+            maybeRemoveImport("org.hamcrest.Matchers.allOf");
+            maybeRemoveImport("org.hamcrest.CoreMatchers.anyOf");
+            maybeRemoveImport("org.hamcrest.CoreMatchers.allOf");
+            maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
+            return template(allOfMatcherMatches, hasReason, anyOfArguments.size(), ctx)
+                    .apply(getCursor(), mi.getCoordinates().replace(), parameters.toArray());
+        }
+
+        private JavaTemplate template(boolean allOf, boolean hasReason, int arity, ExecutionContext ctx) {
+            return templates.get((allOf ? 2 : 0) + (hasReason ? 1 : 0))
+                    .computeIfAbsent(arity, n -> buildTemplate(allOf, hasReason, n, ctx));
+        }
+
+        private JavaTemplate buildTemplate(boolean allOf, boolean hasReason, int arity, ExecutionContext ctx) {
             StringBuilder template = new StringBuilder();
-            List<Expression> parameters = new ArrayList<>();
 
             // assertThat(actual)
             template.append("assertThat(#{any()})\n");
-            parameters.add(arguments.get(arguments.size() - 2));
 
             // .as("...")
-            if (arguments.size() == 3) {
+            if (hasReason) {
                 template.append(".as(#{any(java.lang.String)})\n");
-                parameters.add(arguments.get(0));
             }
 
             // .satisfiesAnyOf(...) or .satisfies(...)
-            template.append(allOfMatcherMatches ? ".satisfies(\n" : ".satisfiesAnyOf(\n");
-            template.append(anyOfArguments.stream()
-                    .map(arg -> "arg -> assertThat(arg, #{any()})")
-                    .collect(Collectors.joining(",\n")));
-            parameters.addAll(anyOfArguments);
+            template.append(allOf ? ".satisfies(\n" : ".satisfiesAnyOf(\n");
+            template.append(String.join(",\n", Collections.nCopies(arity, "arg -> assertThat(arg, #{any()})")));
             template.append("\n);");
 
-            maybeRemoveImport("org.hamcrest.Matchers.anyOf");
-            maybeRemoveImport("org.hamcrest.Matchers.allOf");
-            maybeRemoveImport("org.hamcrest.CoreMatchers.anyOf");
-            maybeRemoveImport("org.hamcrest.CoreMatchers.allOf");
-            maybeAddImport("org.assertj.core.api.Assertions", "assertThat");
+            if (javaParser == null) {
+                javaParser = JavaParser.fromJavaVersion().classpathFromResources(ctx,
+                        "assertj-core-3.24",
+                        "hamcrest-2.2",
+                        "junit-jupiter-api-5.9");
+            }
             return JavaTemplate.builder(template.toString())
                     .contextSensitive()
                     .staticImports("org.assertj.core.api.Assertions.assertThat")
-                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx,
-                            "assertj-core-3.24",
-                            "hamcrest-2.2",
-                            "junit-jupiter-api-5.9"))
-                    .build()
-                    .apply(getCursor(), mi.getCoordinates().replace(), parameters.toArray());
+                    .javaParser(javaParser)
+                    .build();
         }
     }
 }
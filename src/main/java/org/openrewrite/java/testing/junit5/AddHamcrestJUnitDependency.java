@@ -15,18 +15,20 @@
  */
 package org.openrewrite.java.testing.junit5;
 
-import org.openrewrite.ExecutionContext;
-import org.openrewrite.ScanningRecipe;
-import org.openrewrite.Tree;
-import org.openrewrite.TreeVisitor;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.dependencies.AddDependency;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.java.testing.TestDependencyIndex;
 import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class AddHamcrestJUnitDependency extends ScanningRecipe<AtomicBoolean> {
+public class AddHamcrestJUnitDependency extends ScanningRecipe<AddHamcrestJUnitDependency.Accumulator> {
 
     @Override
     public String getDisplayName() {
@@ -39,24 +41,27 @@ public class AddHamcrestJUnitDependency extends ScanningRecipe<AtomicBoolean> {
     }
 
     @Override
-    public AtomicBoolean getInitialValue(ExecutionContext ctx) {
-        return new AtomicBoolean(false);
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getScanner(AtomicBoolean acc) {
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
         // No need to scan for AddDependency, as we'll unconditionally add the dependency if we find a match below
         MethodMatcher methodMatcher = new MethodMatcher("org.junit.Ass* *That(..)");
         return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
             public Tree preVisit(Tree tree, ExecutionContext ctx) {
                 stopAfterPreVisit();
-                if (tree instanceof JavaSourceFile && !acc.get()) {
+                if (tree instanceof JavaSourceFile && !acc.isUsedIn((JavaSourceFile) tree)) {
                     for (JavaType.Method type : ((JavaSourceFile) tree).getTypesInUse().getUsedMethods()) {
                         if (methodMatcher.matches(type)) {
-                            acc.set(true);
+                            acc.markUsedIn((JavaSourceFile) tree);
+                            break;
                         }
                     }
+                } else if (tree instanceof SourceFile) {
+                    TestDependencyIndex.get(ctx).record((SourceFile) tree);
                 }
                 return tree;
             }
@@ -64,10 +69,10 @@ public class AddHamcrestJUnitDependency extends ScanningRecipe<AtomicBoolean> {
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor(AtomicBoolean acc) {
-        if (acc.get()) {
-            // We can unconditionally add the dependency here
-            return new AddDependency(
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        if (acc.isUsedAnywhere()) {
+            // We can unconditionally add the dependency here, to those modules that use a Hamcrest assertion
+            TreeVisitor<?, ExecutionContext> addDependency = new AddDependency(
                     "org.hamcrest",
                     "hamcrest-junit",
                     "2.x",
@@ -83,7 +88,49 @@ public class AddHamcrestJUnitDependency extends ScanningRecipe<AtomicBoolean> {
                     null,
                     true
             ).getVisitor();
+            return new TreeVisitor<Tree, ExecutionContext>() {
+                @Override
+                public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                    if (tree instanceof SourceFile &&
+                        acc.isUsedIn((SourceFile) tree) &&
+                        !TestDependencyIndex.get(ctx).getResolvedVersions((SourceFile) tree).hasDependency("org.hamcrest", "hamcrest-junit", null)) {
+                        return addDependency.visit(tree, ctx);
+                    }
+                    return tree;
+                }
+            };
         }
         return TreeVisitor.noop();
     }
+
+    /**
+     * The modules, identified by their {@link JavaProject} marker, using JUnit 4's `assertThat` or `assumeThat`.
+     */
+    public static class Accumulator {
+        private final Set<JavaProject> modules = ConcurrentHashMap.newKeySet();
+        private volatile boolean usedOutsideOfModule;
+
+        void markUsedIn(SourceFile sourceFile) {
+            Optional<JavaProject> project = sourceFile.getMarkers().findFirst(JavaProject.class);
+            if (project.isPresent()) {
+                modules.add(project.get());
+            } else {
+                usedOutsideOfModule = true;
+            }
+        }
+
+        boolean isUsedIn(SourceFile sourceFile) {
+            if (usedOutsideOfModule) {
+                return true;
+            }
+            // Source files without a module can't be told apart, so they are considered as using it whenever any module does
+            return sourceFile.getMarkers().findFirst(JavaProject.class)
+                    .map(modules::contains)
+                    .orElse(!modules.isEmpty());
+        }
+
+        boolean isUsedAnywhere() {
+            return usedOutsideOfModule || !modules.isEmpty();
+        }
+    }
 }
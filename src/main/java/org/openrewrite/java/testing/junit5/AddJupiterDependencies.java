@@ -19,21 +19,22 @@ import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
-import org.openrewrite.gradle.marker.GradleDependencyConfiguration;
 import org.openrewrite.gradle.marker.GradleProject;
-import org.openrewrite.groovy.GroovyIsoVisitor;
 import org.openrewrite.groovy.tree.G;
 import org.openrewrite.java.dependencies.AddDependency;
-import org.openrewrite.maven.MavenIsoVisitor;
-import org.openrewrite.maven.tree.ResolvedDependency;
+import org.openrewrite.java.testing.TestDependencyIndex;
+import org.openrewrite.maven.tree.MavenResolutionResult;
 import org.openrewrite.xml.tree.Xml;
 
-import java.util.List;
 import java.util.Optional;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class AddJupiterDependencies extends ScanningRecipe<AddDependency.Accumulator> {
+    private static final AddDependency ADD_JUPITER_DEPENDENCY = new AddDependency("org.junit.jupiter", "junit-jupiter", "5.x", null,
+            "org.junit..*", null, null, null, null, null,
+            null, null, null, null);
+
     @Override
     public String getDisplayName() {
         return "Add JUnit Jupiter dependencies";
@@ -48,82 +49,40 @@ public class AddJupiterDependencies extends ScanningRecipe<AddDependency.Accumul
 
     @Override
     public AddDependency.Accumulator getInitialValue(ExecutionContext ctx) {
-        return addJupiterDependency().getInitialValue(ctx);
+        return ADD_JUPITER_DEPENDENCY.getInitialValue(ctx);
     }
 
     @Override
     public TreeVisitor<?, ExecutionContext> getScanner(AddDependency.Accumulator acc) {
-        return addJupiterDependency().getScanner(acc);
+        return ADD_JUPITER_DEPENDENCY.getScanner(acc);
     }
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor(AddDependency.Accumulator acc) {
-        AddJupiterGradle gv = new AddJupiterGradle(acc);
-        AddJupiterMaven mv = new AddJupiterMaven(acc);
+        TreeVisitor<?, ExecutionContext> addJupiterDependency = ADD_JUPITER_DEPENDENCY.getVisitor(acc);
         return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
             public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx, Cursor parent) {
-                if (!(tree instanceof SourceFile)) {
+                if (!(tree instanceof SourceFile) || !needsJupiterDependency((SourceFile) tree, ctx)) {
                     return tree;
                 }
-                SourceFile s = (SourceFile) tree;
-                if (gv.isAcceptable(s, ctx)) {
-                    s = (SourceFile) gv.visitNonNull(s, ctx);
-                }
-                if (mv.isAcceptable(s, ctx)) {
-                    s = (SourceFile) mv.visitNonNull(s, ctx);
-                }
-                return s;
+                return addJupiterDependency.visit(tree, ctx, parent);
             }
         };
     }
 
-    private static AddDependency addJupiterDependency() {
-        return new AddDependency("org.junit.jupiter", "junit-jupiter", "5.x", null,
-                "org.junit..*", null, null, null, null, null,
-                null, null, null, null);
-    }
-
-    @Value
-    @EqualsAndHashCode(callSuper = false)
-    private static class AddJupiterGradle extends GroovyIsoVisitor<ExecutionContext> {
-        AddDependency.Accumulator acc;
-
-        @Override
-        public G.CompilationUnit visitCompilationUnit(G.CompilationUnit t, ExecutionContext ctx) {
-            Optional<GradleProject> maybeGp = t.getMarkers().findFirst(GradleProject.class);
-            if (!maybeGp.isPresent()) {
-                return t;
-            }
-            GradleProject gp = maybeGp.get();
-            GradleDependencyConfiguration trc = gp.getConfiguration("testRuntimeClasspath");
-            if (trc == null) {
-                return t;
-            }
-            ResolvedDependency jupiterApi = trc.findResolvedDependency("org.junit.jupiter", "junit-jupiter-api");
-            if (jupiterApi == null) {
-                t = (G.CompilationUnit) addJupiterDependency().getVisitor(acc)
-                        .visitNonNull(t, ctx);
-            }
-
-            return t;
-        }
-    }
-
-    @Value
-    @EqualsAndHashCode(callSuper = false)
-    private static class AddJupiterMaven extends MavenIsoVisitor<ExecutionContext> {
-        AddDependency.Accumulator acc;
-
-        @Override
-        public Xml.Document visitDocument(Xml.Document document, ExecutionContext ctx) {
-            Xml.Document d = document;
-            List<ResolvedDependency> jupiterApi = getResolutionResult().findDependencies("org.junit.jupiter", "junit-jupiter-api", null);
-            if (jupiterApi.isEmpty()) {
-                d = (Xml.Document) addJupiterDependency().getVisitor(acc)
-                        .visitNonNull(d, ctx);
+    /**
+     * Decides from the build file markers alone, without walking the tree, whether JUnit Jupiter should be added.
+     */
+    private static boolean needsJupiterDependency(SourceFile sourceFile, ExecutionContext ctx) {
+        Optional<GradleProject> maybeGp = sourceFile.getMarkers().findFirst(GradleProject.class);
+        if (maybeGp.isPresent()) {
+            if (!(sourceFile instanceof G.CompilationUnit) || maybeGp.get().getConfiguration("testRuntimeClasspath") == null) {
+                return false;
             }
-            return d;
+        } else if (!(sourceFile instanceof Xml.Document) || !sourceFile.getMarkers().findFirst(MavenResolutionResult.class).isPresent()) {
+            return false;
         }
+        return !TestDependencyIndex.get(ctx).getResolvedVersions(sourceFile).hasDependency("org.junit.jupiter", "junit-jupiter-api", null);
     }
 }
@@ -21,17 +21,20 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.search.FindAnnotations;
+import org.openrewrite.java.RandomizeIdVisitor;
 import org.openrewrite.java.search.UsesType;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.java.testing.ScopedAutoFormat;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
 
 import java.time.Duration;
 import java.util.*;
 
+import static java.util.Collections.emptyList;
+import static org.openrewrite.Tree.randomId;
+
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class AddMissingNested extends Recipe {
@@ -43,6 +46,8 @@ public class AddMissingNested extends Recipe {
             "org.junit.jupiter.params.ParameterizedTest",
             "org.junit.jupiter.api.TestFactory");
 
+    private static final Set<String> TEST_ANNOTATION_TYPES = new HashSet<>(TEST_ANNOTATIONS);
+
     @SuppressWarnings("unchecked")
     private static final TreeVisitor<?, ExecutionContext> PRECONDITION =
             Preconditions.or(TEST_ANNOTATIONS.stream().map(r -> new UsesType<>(r, false)).toArray(UsesType[]::new));
@@ -69,38 +74,60 @@ public class AddMissingNested extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(PRECONDITION, new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
-                J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
-                cd = cd.withBody((J.Block) new AddNestedAnnotationVisitor().visitNonNull(cd.getBody(), ctx, updateCursor(cd)));
-                maybeAddImport(NESTED);
-                return cd;
-            }
-        });
+        return Preconditions.check(PRECONDITION, new AddNestedAnnotationVisitor());
     }
 
     public static class AddNestedAnnotationVisitor extends JavaIsoVisitor<ExecutionContext> {
+        private static final String CONTAINS_TESTS = "containsTests";
+        private static final J.Annotation NESTED_ANNOTATION = new J.Annotation(randomId(), Space.EMPTY, Markers.EMPTY,
+                new J.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, emptyList(), "Nested",
+                        JavaType.ShallowClass.build(NESTED), null),
+                null);
+
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
             J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
+
+            // Inner classes with tests have already flagged this class while it was being visited
+            boolean containsTests = getCursor().getMessage(CONTAINS_TESTS, false) || declaresTestMethod(cd);
+            if (!containsTests) {
+                return cd;
+            }
+            getCursor().getParentOrThrow().putMessageOnFirstEnclosing(J.ClassDeclaration.class, CONTAINS_TESTS, true);
+
+            boolean innerClass = !(getCursor().getParentTreeCursor().getValue() instanceof JavaSourceFile);
             boolean alreadyNested = classDecl.getLeadingAnnotations().stream()
                     .anyMatch(a -> TypeUtils.isOfClassType(a.getType(), NESTED));
-            if (!alreadyNested && hasTestMethods(cd)) {
-                cd = JavaTemplate.builder("@Nested")
-                        .javaParser(JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "junit-jupiter-api-5.9"))
-                        .imports(NESTED)
-                        .build()
-                        .apply(getCursor(), cd.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
-                cd.getModifiers().removeIf(modifier -> modifier.getType().equals(J.Modifier.Type.Static));
-                return maybeAutoFormat(classDecl, cd, ctx);
+            if (innerClass && !alreadyNested) {
+                cd = cd.withLeadingAnnotations(addNestedAnnotation(cd.getLeadingAnnotations()))
+                        .withModifiers(ListUtils.map(cd.getModifiers(), modifier -> modifier.getType() == J.Modifier.Type.Static ? null : modifier));
+                maybeAddImport(NESTED);
+                return ScopedAutoFormat.maybeAutoFormat(classDecl, cd, cd.getName(), ctx, getCursor().getParentTreeCursor());
             }
             return cd;
         }
 
-        private static boolean hasTestMethods(final J.ClassDeclaration cd) {
-            return TEST_ANNOTATIONS.stream().anyMatch(ann -> !FindAnnotations.find(cd, "@" + ann).isEmpty());
+        private static List<J.Annotation> addNestedAnnotation(List<J.Annotation> annotations) {
+            // Keep the annotations ordered by simple name, like JavaCoordinates#addAnnotation would
+            int index = 0;
+            while (index < annotations.size() && annotations.get(index).getSimpleName().compareTo("Nested") <= 0) {
+                index++;
+            }
+            return ListUtils.insert(annotations, (J.Annotation) new RandomizeIdVisitor<Integer>().visitNonNull(NESTED_ANNOTATION, 0), index);
+        }
+
+        private static boolean declaresTestMethod(J.ClassDeclaration cd) {
+            for (Statement statement : cd.getBody().getStatements()) {
+                if (statement instanceof J.MethodDeclaration) {
+                    for (J.Annotation annotation : ((J.MethodDeclaration) statement).getLeadingAnnotations()) {
+                        JavaType.FullyQualified type = TypeUtils.asFullyQualified(annotation.getType());
+                        if (type != null && TEST_ANNOTATION_TYPES.contains(type.getFullyQualifiedName())) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
         }
     }
 }
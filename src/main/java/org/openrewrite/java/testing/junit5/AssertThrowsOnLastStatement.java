@@ -25,8 +25,8 @@ import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.Statement;
-import org.openrewrite.staticanalysis.LambdaBlockToExpression;
 
 import java.util.Collections;
 import java.util.List;
@@ -59,7 +59,6 @@ public class AssertThrowsOnLastStatement extends Recipe {
                 if (m.getBody() == null) {
                     return m;
                 }
-                doAfterVisit(new LambdaBlockToExpression().getVisitor());
                 return m.withBody(m.getBody().withStatements(ListUtils.flatMap(m.getBody().getStatements(), methodStatement -> {
                     J statementToCheck = methodStatement;
                     final J.VariableDeclarations assertThrowsWithVarDec;
@@ -122,7 +121,7 @@ public class AssertThrowsOnLastStatement extends Recipe {
                                 ListUtils.map(arguments, (argIdx, argument) -> {
                                     if (argIdx == 1) {
                                         // Only retain the last statement in the lambda block
-                                        return lambda.withBody(body.withStatements(singletonList(lambdaStatement)));
+                                        return lambda.withBody(lambdaBody(methodInvocation, body, lambdaStatement));
                                     }
                                     return argument;
                                 })
@@ -137,6 +136,32 @@ public class AssertThrowsOnLastStatement extends Recipe {
                     });
                 })));
             }
+
+            /**
+             * Reduce the lambda to an expression when its last statement is a method invocation, unless that could make
+             * the `assertThrows` invocation ambiguous between overloads with the same number of parameters.
+             */
+            private J lambdaBody(J.MethodInvocation assertThrows, J.Block body, Statement lastStatement) {
+                if (lastStatement instanceof J.MethodInvocation && !hasOverloadWithSameArity(assertThrows)) {
+                    return lastStatement;
+                }
+                return body.withStatements(singletonList(lastStatement));
+            }
+
+            private boolean hasOverloadWithSameArity(J.MethodInvocation method) {
+                JavaType.Method methodType = method.getMethodType();
+                if (methodType == null) {
+                    return true;
+                }
+                int overloads = 0;
+                for (JavaType.Method m : methodType.getDeclaringType().getMethods()) {
+                    if (m.getName().equals(methodType.getName()) &&
+                        m.getParameterTypes().size() == methodType.getParameterTypes().size()) {
+                        overloads++;
+                    }
+                }
+                return overloads > 1;
+            }
         });
     }
 }
@@ -16,21 +16,21 @@
 package org.openrewrite.java.testing.junit5;
 
 import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
-import org.openrewrite.java.ChangeMethodTargetToStatic;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 import static java.util.Collections.emptyList;
+import static org.openrewrite.Tree.randomId;
 
 public class AssertToAssertions extends Recipe {
 
@@ -51,6 +51,11 @@ public class AssertToAssertions extends Recipe {
 
     public static class AssertToAssertionsVisitor extends JavaIsoVisitor<ExecutionContext> {
         private static final JavaType ASSERTION_TYPE = JavaType.buildType("org.junit.Assert");
+        private static final String ASSERTIONS = "org.junit.jupiter.api.Assertions";
+        private static final JavaType.FullyQualified ASSERTIONS_TYPE = JavaType.ShallowClass.build(ASSERTIONS);
+        private static final String STATIC_IMPORTS_TO_ADD = "staticImportsToAdd";
+        private static final String RETARGETED_INVOCATIONS = "retargetedInvocations";
+        private static final String QUALIFIED_INVOCATIONS = "qualifiedInvocations";
 
         private static final List<String> JUNIT_ASSERT_METHOD_NAMES = Arrays.asList(
                 "assertArrayEquals", "assertEquals", "assertFalse", "assertNotEquals", "assertNotNull", "assertNotSame",
@@ -75,15 +80,36 @@ public class AssertToAssertions extends Recipe {
             return tree;
         }
 
+        @Override
+        public J postVisit(J tree, ExecutionContext ctx) {
+            if (tree instanceof JavaSourceFile) {
+                // Maintain the imports once per file, for all invocations retargeted during the traversal
+                Set<String> staticImportsToAdd = getCursor().getMessage(STATIC_IMPORTS_TO_ADD);
+                if (staticImportsToAdd != null) {
+                    for (String method : staticImportsToAdd) {
+                        maybeAddImport(ASSERTIONS, method, false);
+                    }
+                }
+                if (getCursor().getMessage(QUALIFIED_INVOCATIONS) != null) {
+                    maybeAddImport(ASSERTIONS, false);
+                }
+                if (getCursor().getMessage(RETARGETED_INVOCATIONS) != null) {
+                    maybeRemoveImport("org.junit.Assert");
+                }
+            }
+            return tree;
+        }
+
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
             if (!isJunitAssertMethod(m)) {
                 return m;
             }
-            doAfterVisit(new ChangeMethodTargetToStatic("org.junit.Assert " + m.getSimpleName() + "(..)",
-                    "org.junit.jupiter.api.Assertions", null, null, true)
-                    .getVisitor());
+            // Untyped invocations that only look like assertions keep their target, and only have their arguments reordered
+            if (m.getMethodType() != null && TypeUtils.isOfType(ASSERTION_TYPE, m.getMethodType().getDeclaringType())) {
+                m = retargetToAssertions(m);
+            }
 
             List<JRightPadded<Expression>> args = m.getPadding().getArguments().getPadding().getElements();
             Expression firstArg = args.get(0).getElement();
@@ -128,6 +154,29 @@ public class AssertToAssertions extends Recipe {
             return m;
         }
 
+        /**
+         * Change the target of a JUnit 4 assertion to the static method of the same name on JUnit Jupiter's `Assertions`.
+         * The imports are maintained once per file in {@link #postVisit(J, ExecutionContext)}.
+         */
+        private J.MethodInvocation retargetToAssertions(J.MethodInvocation m) {
+            Cursor sourceFileCursor = getCursor().dropParentUntil(t -> t instanceof JavaSourceFile || Cursor.ROOT_VALUE.equals(t));
+            sourceFileCursor.putMessage(RETARGETED_INVOCATIONS, true);
+            if (m.getSelect() == null) {
+                sourceFileCursor.<Set<String>>computeMessageIfAbsent(STATIC_IMPORTS_TO_ADD, k -> new LinkedHashSet<>())
+                        .add(m.getSimpleName());
+            } else {
+                sourceFileCursor.putMessage(QUALIFIED_INVOCATIONS, true);
+                m = m.withSelect(new J.Identifier(randomId(), m.getSelect().getPrefix(), Markers.EMPTY, emptyList(),
+                        ASSERTIONS_TYPE.getClassName(), ASSERTIONS_TYPE, null));
+            }
+            JavaType.Method methodType = m.getMethodType();
+            if (methodType != null) {
+                methodType = methodType.withDeclaringType(ASSERTIONS_TYPE);
+                m = m.withMethodType(methodType).withName(m.getName().withType(methodType));
+            }
+            return m;
+        }
+
         private static boolean isJunitAssertMethod(J.MethodInvocation method) {
             if (method.getMethodType() != null && TypeUtils.isOfType(ASSERTION_TYPE, method.getMethodType().getDeclaringType())) {
                 return !"assertThat".equals(method.getSimpleName());
@@ -20,13 +20,13 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.FindAnnotations;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.ScopedAutoFormat;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
 import java.util.Collections;
-import java.util.Set;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -56,34 +56,41 @@ public class CategoryToTag extends Recipe {
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
             J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
-            Set<J.Annotation> categoryAnnotations = FindAnnotations.find(cd, "@" + "org.junit.experimental.categories.Category");
-            if (!categoryAnnotations.isEmpty()) {
-                cd = cd.withLeadingAnnotations(cd.getLeadingAnnotations().stream()
+            if (hasCategoryAnnotation(cd.getLeadingAnnotations())) {
+                J.ClassDeclaration tagged = cd.withLeadingAnnotations(cd.getLeadingAnnotations().stream()
                         .flatMap(this::categoryAnnotationToTagAnnotations)
                         .collect(Collectors.toList()));
                 maybeRemoveImport("org.junit.experimental.categories.Category");
                 maybeAddImport(tagType);
+                cd = ScopedAutoFormat.maybeAutoFormat(cd, tagged, tagged.getName(), ctx, getCursor().getParentTreeCursor());
             }
-            cd = maybeAutoFormat(classDecl, cd, cd.getName(), ctx, getCursor().getParentTreeCursor());
             return cd;
         }
 
         @Override
         public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
             J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
-            Set<J.Annotation> categoryAnnotations = FindAnnotations.find(m, "@" + "org.junit.experimental.categories.Category");
-            if (!categoryAnnotations.isEmpty()) {
-                m = m.withLeadingAnnotations(m.getLeadingAnnotations().stream()
+            if (hasCategoryAnnotation(m.getLeadingAnnotations())) {
+                J.MethodDeclaration tagged = m.withLeadingAnnotations(m.getLeadingAnnotations().stream()
                         .flatMap(this::categoryAnnotationToTagAnnotations)
                         .collect(Collectors.toList()));
 
                 maybeRemoveImport("org.junit.experimental.categories.Category");
                 maybeAddImport(tagType);
+                m = ScopedAutoFormat.maybeAutoFormat(m, tagged, tagged.getName(), ctx, getCursor().getParentTreeCursor());
             }
-            m = maybeAutoFormat(method, m, m.getName(), ctx, getCursor().getParentTreeCursor());
             return m;
         }
 
+        private static boolean hasCategoryAnnotation(List<J.Annotation> leadingAnnotations) {
+            for (J.Annotation annotation : leadingAnnotations) {
+                if (TypeUtils.isOfClassType(annotation.getType(), "org.junit.experimental.categories.Category")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
         private Stream<J.Annotation> categoryAnnotationToTagAnnotations(J.Annotation maybeCategory) {
             if (maybeCategory.getArguments() != null && TypeUtils.isOfClassType(maybeCategory.getAnnotationType().getType(), "org.junit.experimental.categories.Category")) {
                 Expression annotationArgument = maybeCategory.getArguments().iterator().next();
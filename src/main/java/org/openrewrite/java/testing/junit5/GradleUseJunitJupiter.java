@@ -18,6 +18,7 @@ package org.openrewrite.java.testing.junit5;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
@@ -27,12 +28,15 @@ import org.openrewrite.groovy.GroovyIsoVisitor;
 import org.openrewrite.groovy.tree.G;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.RandomizeIdVisitor;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
 
+import java.util.HashSet;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNull;
@@ -59,74 +63,142 @@ public class GradleUseJunitJupiter extends Recipe {
     private static final MethodMatcher TEST_DSL_MATCHER = new MethodMatcher("RewriteGradleProject test(..)");
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        //noinspection NotNullFieldNotInitialized
         return new GroovyIsoVisitor<ExecutionContext>() {
-
-            GradleProject gp;
-
             @Override
             public G.CompilationUnit visitCompilationUnit(G.CompilationUnit compilationUnit, ExecutionContext ctx) {
-                //noinspection DataFlowIssue
-                gp = compilationUnit.getMarkers().findFirst(GradleProject.class).orElse(null);
-                if(gp == null) {
+                GradleProject gp = compilationUnit.getMarkers().findFirst(GradleProject.class).orElse(null);
+                if (gp == null) {
                     return compilationUnit;
                 }
-                if(gp.getPlugins().stream().noneMatch(plugin -> plugin.getFullyQualifiedClassName().contains("org.gradle.api.plugins.JavaBasePlugin"))) {
+                if (gp.getPlugins().stream().noneMatch(plugin -> plugin.getFullyQualifiedClassName().contains("org.gradle.api.plugins.JavaBasePlugin"))) {
                     return compilationUnit;
                 }
-                if(containsJUnitPlatformInvocation(compilationUnit)) {
+                // A single pass finds an existing useJUnitPlatform(), useJUnit() invocations and test task configurations
+                TestTaskConfiguration configuration = new TestTaskConfiguration();
+                new ClassifyTestTaskConfiguration().visit(compilationUnit, configuration, requireNonNull(getCursor().getParent()));
+                if (configuration.hasJUnitPlatformInvocation) {
                     return compilationUnit;
                 }
                 // If anywhere in the tree there is a useJunit() we can swap it out for useJUnitPlatform() and be done in one step
-                G.CompilationUnit cu = (G.CompilationUnit) new UpdateExistingUseJunit4()
-                        .visitNonNull(compilationUnit, ctx, requireNonNull(getCursor().getParent()));
-                if (cu != compilationUnit) {
-                    return cu;
+                if (!configuration.useJUnit4Invocations.isEmpty()) {
+                    return (G.CompilationUnit) new UpdateExistingUseJunit4(configuration.useJUnit4Invocations)
+                            .visitNonNull(compilationUnit, ctx, requireNonNull(getCursor().getParent()));
                 }
                 // No useJUnit(), but there might already be configuration of a Test task, add useJUnitPlatform() to it
-                cu = (G.CompilationUnit) new AddJUnitPlatformToExistingTestDsl()
-                        .visitNonNull(cu, ctx, requireNonNull(getCursor().getParent()));
-                if(cu != compilationUnit) {
-                    return cu;
+                Snippets snippets = Snippets.get(ctx);
+                if (!configuration.testDslInvocations.isEmpty()) {
+                    G.CompilationUnit cu = (G.CompilationUnit) new AddJUnitPlatformToExistingTestDsl(configuration.testDslInvocations, snippets)
+                            .visitNonNull(compilationUnit, ctx, requireNonNull(getCursor().getParent()));
+                    if (cu != compilationUnit) {
+                        return cu;
+                    }
                 }
                 // No existing test task configuration seems to exist, add a whole new one
-                return (G.CompilationUnit) new AddUseJUnitPlatform()
-                        .visitNonNull(cu, ctx, getCursor().getParent());
+                return compilationUnit.withStatements(ListUtils.concat(compilationUnit.getStatements(),
+                        snippets.newConfigureEachInvocation()));
             }
         };
     }
 
-    private static boolean containsJUnitPlatformInvocation(G.CompilationUnit cu) {
-        AtomicBoolean found = new AtomicBoolean(false);
-        new GroovyIsoVisitor<AtomicBoolean>() {
-            @Override
-            public @Nullable J preVisit(J tree, AtomicBoolean found) {
-                if(found.get()) {
-                    stopAfterPreVisit();
-                    return tree;
-                }
-                return super.preVisit(tree, found);
+    /**
+     * The `useJUnitPlatform()` snippets, parsed once per run and stamped with fresh ids on every use.
+     */
+    private static class Snippets {
+        private final J.MethodInvocation configureEachInvocation;
+        private final J.@Nullable MethodInvocation useJUnitPlatformInvocation;
+
+        private Snippets(J.MethodInvocation configureEachInvocation) {
+            this.configureEachInvocation = configureEachInvocation;
+            this.useJUnitPlatformInvocation = Optional.of(configureEachInvocation)
+                    .map(J.MethodInvocation::getArguments)
+                    .map(args -> args.get(0))
+                    .filter(J.Lambda.class::isInstance)
+                    .map(J.Lambda.class::cast)
+                    .map(J.Lambda::getBody)
+                    .filter(J.Block.class::isInstance)
+                    .map(J.Block.class::cast)
+                    .map(J.Block::getStatements)
+                    .map(statements -> statements.get(0))
+                    .map(statement -> statement instanceof J.Return ? ((J.Return) statement).getExpression() : statement)
+                    .filter(J.MethodInvocation.class::isInstance)
+                    .map(J.MethodInvocation.class::cast)
+                    .orElse(null);
+        }
+
+        static Snippets get(ExecutionContext ctx) {
+            return ctx.computeMessageIfAbsent(Snippets.class.getName(), k -> {
+                G.CompilationUnit template = GradleParser.builder()
+                        .build()
+                        .parse("plugins {\n" +
+                               "    id 'java'\n" +
+                               "}\n" +
+                               "tasks.withType(Test).configureEach {\n" +
+                               "    useJUnitPlatform()\n" +
+                               "}")
+                        .map(G.CompilationUnit.class::cast)
+                        .collect(Collectors.toList())
+                        .get(0);
+                return new Snippets((J.MethodInvocation) template.getStatements().get(1));
+            });
+        }
+
+        J.MethodInvocation newConfigureEachInvocation() {
+            return (J.MethodInvocation) new RandomizeIdVisitor<Integer>().visitNonNull(configureEachInvocation, 0);
+        }
+
+        J.@Nullable MethodInvocation newUseJUnitPlatformInvocation() {
+            return useJUnitPlatformInvocation == null ? null :
+                    (J.MethodInvocation) new RandomizeIdVisitor<Integer>().visitNonNull(useJUnitPlatformInvocation, 0);
+        }
+    }
+
+    private static class TestTaskConfiguration {
+        boolean hasJUnitPlatformInvocation;
+        final Set<UUID> useJUnit4Invocations = new HashSet<>();
+        final Set<UUID> testDslInvocations = new HashSet<>();
+    }
+
+    private static class ClassifyTestTaskConfiguration extends GroovyIsoVisitor<TestTaskConfiguration> {
+        @Override
+        public @Nullable J preVisit(J tree, TestTaskConfiguration configuration) {
+            if (configuration.hasJUnitPlatformInvocation) {
+                stopAfterPreVisit();
+                return tree;
             }
+            return super.preVisit(tree, configuration);
+        }
 
-            @Override
-            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation m, AtomicBoolean found) {
-                // Groovy gradle scripts being weakly type-attributed means we will miss likely-correct changes if we are too strict
-                if ("useJUnitPlatform".equals(m.getSimpleName()) && (m.getArguments().isEmpty() || m.getArguments().size() == 1 && m.getArguments().get(0) instanceof J.Empty)) {
-                    found.set(true);
-                    return m;
-                }
-                return super.visitMethodInvocation(m, found);
+        @Override
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, TestTaskConfiguration configuration) {
+            // Groovy gradle scripts being weakly type-attributed means we will miss likely-correct changes if we are too strict
+            if (isNoArgInvocation(method, "useJUnitPlatform")) {
+                configuration.hasJUnitPlatformInvocation = true;
+                return method;
+            }
+            J.MethodInvocation m = super.visitMethodInvocation(method, configuration);
+            if (isNoArgInvocation(m, "useJUnit")) {
+                configuration.useJUnit4Invocations.add(m.getId());
+            } else if (isTestDsl(m, getCursor())) {
+                configuration.testDslInvocations.add(m.getId());
             }
-        }.visit(cu, found);
-        return found.get();
+            return m;
+        }
     }
 
+    private static boolean isNoArgInvocation(J.MethodInvocation m, String name) {
+        return name.equals(m.getSimpleName()) &&
+               (m.getArguments().isEmpty() || m.getArguments().size() == 1 && m.getArguments().get(0) instanceof J.Empty);
+    }
+
+    @Value
+    @EqualsAndHashCode(callSuper = false)
     private static class UpdateExistingUseJunit4 extends GroovyIsoVisitor<ExecutionContext> {
+        Set<UUID> useJUnit4Invocations;
+
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
-            // Groovy gradle scripts being weakly type-attributed means we will miss changes if we are too strict
-            if ("useJUnit".equals(m.getSimpleName()) && (m.getArguments().isEmpty() || m.getArguments().size() == 1 && m.getArguments().get(0) instanceof J.Empty)) {
+            if (useJUnit4Invocations.contains(m.getId())) {
                 JavaType.Method useJUnitPlatformType = Optional.ofNullable(m.getMethodType())
                         .map(JavaType.Method::getDeclaringType)
                         .flatMap(declaringType -> declaringType.getMethods()
@@ -141,120 +213,93 @@ public class GradleUseJunitJupiter extends Recipe {
         }
     }
 
-    private static class AddUseJUnitPlatform extends GroovyIsoVisitor<ExecutionContext> {
-        @Override
-        public G.CompilationUnit visitCompilationUnit(G.CompilationUnit cu, ExecutionContext ctx) {
-            G.CompilationUnit template = GradleParser.builder()
-                    .build()
-                    .parse("plugins {\n" +
-                           "    id 'java'\n" +
-                           "}\n" +
-                           "tasks.withType(Test).configureEach {\n" +
-                           "    useJUnitPlatform()\n" +
-                           "}")
-                    .map(G.CompilationUnit.class::cast)
-                    .collect(Collectors.toList())
-                    .get(0);
-            J.MethodInvocation configureEachInvocation = (J.MethodInvocation) template.getStatements().get(1);
-            return cu.withStatements(ListUtils.concat(cu.getStatements(), configureEachInvocation));
-        }
-    }
-
+    @Value
+    @EqualsAndHashCode(callSuper = false)
     private static class AddJUnitPlatformToExistingTestDsl extends GroovyIsoVisitor<ExecutionContext> {
+        Set<UUID> testDslInvocations;
+        Snippets snippets;
+
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
-            String mName = m.getSimpleName();
-            // A non-exhaustive list of common ways by which the task may already be configured
-            // test { }
-            // tasks.withType(Test) { }
-            // tasks.withType(Test).configureEach { }
-            // tasks.named("test") { }
-            // tasks.named("test", Test) { }
-            switch (mName) {
-                case "test":
-                    if (!(m.getArguments().size() == 1 && m.getArguments().get(0) instanceof J.Lambda)) {
-                        return m;
-                    }
-                    // Other DSLs may be named "test" so only assume it is test {} if it isn't enclosed in anything else
-                    if(getCursor().getParentTreeCursor().firstEnclosing(J.MethodInvocation.class) != null) {
-                        return m;
-                    }
-                    break;
-                case "named":
-                    if (m.getArguments().isEmpty()) {
-                        return m;
-                    }
-                    if (!(m.getArguments().get(0) instanceof J.Literal && "test".equals(((J.Literal) m.getArguments().get(0)).getValue()))) {
-                        return m;
-                    }
-                    // The final argument must be a J.Lambda
-                    if (!(m.getArguments().get(m.getArguments().size() - 1) instanceof J.Lambda)) {
-                        return m;
-                    }
-                    break;
-                case "withType":
-                    if (m.getSelect() == null ||
-                        !TypeUtils.isOfClassType(m.getSelect().getType(), "org.gradle.api.tasks.TaskContainer") ||
-                        !(m.getArguments().get(0) instanceof J.Identifier && "Test".equals(((J.Identifier) m.getArguments().get(0)).getSimpleName()))) {
-                        return m;
-                    }
-                    break;
-                case "configureEach":
-                    if(m.getArguments().size() != 1 || !(m.getArguments().get(0) instanceof J.Lambda)) {
-                        return m;
-                    }
-                    if(m.getSelect() == null || !(m.getSelect() instanceof J.MethodInvocation)) {
-                        return m;
-                    }
-                    J.MethodInvocation select = (J.MethodInvocation) m.getSelect();
-                    if(!"withType".equals(select.getSimpleName()) ||
-                       select.getArguments().size() != 1 ||
-                       !(select.getArguments().get(0) instanceof J.Identifier) ||
-                       !"Test".equals(((J.Identifier) select.getArguments().get(0)).getSimpleName())) {
-                        return m;
-                    }
-                    break;
-                default:
-                    return m;
+            if (!testDslInvocations.contains(m.getId())) {
+                return m;
             }
-
-            return (J.MethodInvocation) new AddJUnitPlatformAsLastStatementInClosure()
+            return (J.MethodInvocation) new AddJUnitPlatformAsLastStatementInClosure(snippets)
                     .visitNonNull(m, ctx, requireNonNull(getCursor().getParent()));
         }
     }
 
+    private static boolean isTestDsl(J.MethodInvocation m, Cursor cursor) {
+        String mName = m.getSimpleName();
+        // A non-exhaustive list of common ways by which the task may already be configured
+        // test { }
+        // tasks.withType(Test) { }
+        // tasks.withType(Test).configureEach { }
+        // tasks.named("test") { }
+        // tasks.named("test", Test) { }
+        switch (mName) {
+            case "test":
+                if (!(m.getArguments().size() == 1 && m.getArguments().get(0) instanceof J.Lambda)) {
+                    return false;
+                }
+                // Other DSLs may be named "test" so only assume it is test {} if it isn't enclosed in anything else
+                if(cursor.getParentTreeCursor().firstEnclosing(J.MethodInvocation.class) != null) {
+                    return false;
+                }
+                break;
+            case "named":
+                if (m.getArguments().isEmpty()) {
+                    return false;
+                }
+                if (!(m.getArguments().get(0) instanceof J.Literal && "test".equals(((J.Literal) m.getArguments().get(0)).getValue()))) {
+                    return false;
+                }
+                // The final argument must be a J.Lambda
+                if (!(m.getArguments().get(m.getArguments().size() - 1) instanceof J.Lambda)) {
+                    return false;
+                }
+                break;
+            case "withType":
+                if (m.getSelect() == null ||
+                    !TypeUtils.isOfClassType(m.getSelect().getType(), "org.gradle.api.tasks.TaskContainer") ||
+                    !(m.getArguments().get(0) instanceof J.Identifier && "Test".equals(((J.Identifier) m.getArguments().get(0)).getSimpleName()))) {
+                    return false;
+                }
+                break;
+            case "configureEach":
+                if(m.getArguments().size() != 1 || !(m.getArguments().get(0) instanceof J.Lambda)) {
+                    return false;
+                }
+                if(m.getSelect() == null || !(m.getSelect() instanceof J.MethodInvocation)) {
+                    return false;
+                }
+                J.MethodInvocation select = (J.MethodInvocation) m.getSelect();
+                if(!"withType".equals(select.getSimpleName()) ||
+                   select.getArguments().size() != 1 ||
+                   !(select.getArguments().get(0) instanceof J.Identifier) ||
+                   !"Test".equals(((J.Identifier) select.getArguments().get(0)).getSimpleName())) {
+                    return false;
+                }
+                break;
+            default:
+                return false;
+        }
+        return true;
+    }
+
+    @Value
+    @EqualsAndHashCode(callSuper = false)
     private static class AddJUnitPlatformAsLastStatementInClosure extends GroovyIsoVisitor<ExecutionContext> {
+        Snippets snippets;
+
         @Override
         public J.Lambda visitLambda(J.Lambda l, ExecutionContext ctx) {
-            if(!(l.getBody() instanceof J.Block)) {
+            if (!(l.getBody() instanceof J.Block)) {
                 return l;
             }
-            G.CompilationUnit cu = GradleParser.builder()
-                    .build()
-                    .parse("plugins {\n" +
-                           "    id 'java'\n" +
-                           "}\n" +
-                           "tasks.withType(Test) {\n" +
-                           "    useJUnitPlatform()\n" +
-                           "}")
-                    .map(G.CompilationUnit.class::cast)
-                    .collect(Collectors.toList())
-                    .get(0);
-            J.MethodInvocation useJUnitPlatform = Optional.of(cu.getStatements().get(1))
-                    .map(J.MethodInvocation.class::cast)
-                    .map(J.MethodInvocation::getArguments)
-                    .map(args -> args.get(1))
-                    .map(J.Lambda.class::cast)
-                    .map(J.Lambda::getBody)
-                    .map(J.Block.class::cast)
-                    .map(J.Block::getStatements)
-                    .map(statements -> statements.get(0))
-                    .map(J.Return.class::cast)
-                    .map(J.Return::getExpression)
-                    .map(J.MethodInvocation.class::cast)
-                    .orElse(null);
-            if(useJUnitPlatform == null) {
+            J.MethodInvocation useJUnitPlatform = snippets.newUseJUnitPlatformInvocation();
+            if (useJUnitPlatform == null) {
                 return l;
             }
             J.Block b = (J.Block) l.getBody();
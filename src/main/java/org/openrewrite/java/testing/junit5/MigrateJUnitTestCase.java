@@ -24,14 +24,13 @@ import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.FindAnnotations;
 import org.openrewrite.java.search.UsesType;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaType;
-import org.openrewrite.java.tree.TextComment;
-import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MigrateJUnitTestCase extends Recipe {
 
@@ -39,18 +38,6 @@ public class MigrateJUnitTestCase extends Recipe {
     private static final AnnotationMatcher JUNIT_AFTER_ANNOTATION_MATCHER = new AnnotationMatcher("@org.junit.*After*");
     private static final AnnotationMatcher JUNIT_BEFORE_ANNOTATION_MATCHER = new AnnotationMatcher("@org.junit.*Before*");
 
-    private static boolean isSupertypeTestCase(JavaType.@Nullable FullyQualified fullyQualified) {
-        if (fullyQualified == null || fullyQualified.getSupertype() == null || "java.lang.Object".equals(fullyQualified.getFullyQualifiedName())) {
-            return false;
-        }
-
-        JavaType.FullyQualified fqType = TypeUtils.asFullyQualified(fullyQualified);
-        if (fqType != null && "junit.framework.TestCase".equals(fqType.getFullyQualifiedName())) {
-            return true;
-        }
-        return isSupertypeTestCase(fullyQualified.getSupertype());
-    }
-
     @Override
     public String getDisplayName() {
         return "Migrate JUnit 4 `TestCase` to JUnit Jupiter";
@@ -67,47 +54,51 @@ public class MigrateJUnitTestCase extends Recipe {
                         new UsesType<>("junit.framework.TestCase", false),
                         new UsesType<>("junit.framework.Assert", false)
                 ),
-                new JavaIsoVisitor<ExecutionContext>() {
-                    @Override
-                    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
-                        J.CompilationUnit c = super.visitCompilationUnit(cu, ctx);
-                        doAfterVisit(new TestCaseVisitor());
-                        // ChangeType for org.junit.Assert method invocations because TestCase extends org.junit.Assert
-                        doAfterVisit(new ChangeType("junit.framework.TestCase", "org.junit.Assert", true).getVisitor());
-                        doAfterVisit(new ChangeType("junit.framework.Assert", "org.junit.Assert", true).getVisitor());
-                        doAfterVisit(new AssertToAssertions.AssertToAssertionsVisitor());
-                        doAfterVisit(new UseStaticImport("org.junit.jupiter.api.Assertions assert*(..)").getVisitor());
-                        doAfterVisit(new UseStaticImport("org.junit.jupiter.api.Assertions fail*(..)").getVisitor());
-                        return c;
-                    }
-
-                    @SuppressWarnings("ConstantConditions")
-                    @Override
-                    public  J.@Nullable MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-                        J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
-                        if ((mi.getSelect() != null && TypeUtils.isOfClassType(mi.getSelect().getType(), "junit.framework.TestCase")) ||
-                            (mi.getMethodType() != null && TypeUtils.isOfClassType(mi.getMethodType().getDeclaringType(), "junit.framework.TestCase"))) {
-                            String name = mi.getSimpleName();
-                            // setUp and tearDown will be invoked via Before and After annotations
-                            if ("setUp".equals(name) || "tearDown".equals(name)) {
-                                return null;
-                            } else if ("setName".equals(name)) {
-                                mi = mi.withPrefix(mi.getPrefix().withComments(ListUtils.concat(mi.getPrefix().getComments(), new TextComment(false, "", "", Markers.EMPTY))));
-                            }
-                        }
-                        return mi;
-                    }
-                });
+                new MigrateJUnitTestCaseVisitor());
     }
 
-    private static class TestCaseVisitor extends JavaIsoVisitor<ExecutionContext> {
+    /**
+     * Removes `TestCase` as a superclass, and retargets both the inherited and the static `TestCase` and
+     * `junit.framework.Assert` assertions to statically imported JUnit Jupiter `Assertions` in the same traversal.
+     */
+    private static class MigrateJUnitTestCaseVisitor extends AssertToAssertions.AssertToAssertionsVisitor {
         private static final AnnotationMatcher OVERRIDE_ANNOTATION_MATCHER = new AnnotationMatcher("@java.lang.Override");
+        private static final JavaType.FullyQualified JUNIT_ASSERT = JavaType.ShallowClass.build("org.junit.Assert");
+        private static final String TEST_CASE_CLASS = "testCaseClass";
+
+        private final Map<JavaType.FullyQualified, Boolean> supertypeTestCase = new IdentityHashMap<>();
+
+        private boolean isSupertypeTestCase(JavaType.@Nullable FullyQualified fullyQualified) {
+            if (fullyQualified == null || fullyQualified.getSupertype() == null || "java.lang.Object".equals(fullyQualified.getFullyQualifiedName())) {
+                return false;
+            }
+            if ("junit.framework.TestCase".equals(fullyQualified.getFullyQualifiedName())) {
+                return true;
+            }
+            Boolean testCase = supertypeTestCase.get(fullyQualified);
+            if (testCase == null) {
+                testCase = isSupertypeTestCase(fullyQualified.getSupertype());
+                supertypeTestCase.put(fullyQualified, testCase);
+            }
+            return testCase;
+        }
+
+        @Override
+        public J postVisit(J tree, ExecutionContext ctx) {
+            if (tree instanceof JavaSourceFile) {
+                maybeRemoveImport("junit.framework.TestCase");
+                maybeRemoveImport("junit.framework.Assert");
+                maybeRemoveImport("org.junit.jupiter.api.Assertions");
+            }
+            return super.postVisit(tree, ctx);
+        }
 
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
             if (!isSupertypeTestCase(classDecl.getType())) {
-                return classDecl;
+                return super.visitClassDeclaration(classDecl, ctx);
             }
+            getCursor().putMessage(TEST_CASE_CLASS, true);
             J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
             if (cd.getExtends() != null && cd.getExtends().getType() != null) {
                 JavaType.FullyQualified fullQualifiedExtension = TypeUtils.asFullyQualified(cd.getExtends().getType());
@@ -115,13 +106,64 @@ public class MigrateJUnitTestCase extends Recipe {
                     cd = cd.withExtends(null);
                 }
             }
-            maybeRemoveImport("junit.framework.TestCase");
             return cd;
         }
 
+        @SuppressWarnings("ConstantConditions")
+        @Override
+        public J.@Nullable MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            J.MethodInvocation mi = method;
+            if ((mi.getSelect() != null && TypeUtils.isOfClassType(mi.getSelect().getType(), "junit.framework.TestCase")) ||
+                (mi.getMethodType() != null && TypeUtils.isOfClassType(mi.getMethodType().getDeclaringType(), "junit.framework.TestCase"))) {
+                String name = mi.getSimpleName();
+                // setUp and tearDown will be invoked via Before and After annotations
+                if ("setUp".equals(name) || "tearDown".equals(name)) {
+                    return null;
+                } else if ("setName".equals(name)) {
+                    mi = mi.withPrefix(mi.getPrefix().withComments(ListUtils.concat(mi.getPrefix().getComments(), new TextComment(false, "", "", Markers.EMPTY))));
+                }
+            }
+
+            if (isAssertion(mi)) {
+                // `TestCase` extends `junit.framework.Assert`, and both have the same assertions as `org.junit.Assert`,
+                // which the superclass retargets to `Assertions`
+                JavaType.Method methodType = mi.getMethodType();
+                if (methodType != null && (TypeUtils.isOfClassType(methodType.getDeclaringType(), "junit.framework.TestCase") ||
+                                           TypeUtils.isOfClassType(methodType.getDeclaringType(), "junit.framework.Assert"))) {
+                    methodType = methodType.withDeclaringType(JUNIT_ASSERT);
+                    mi = mi.withMethodType(methodType).withName(mi.getName().withType(methodType));
+                }
+                // Statically import the retargeted assertions, rather than qualifying them with `Assertions`
+                if (mi.getSelect() != null && isJUnitAssertClass(mi.getSelect().getType())) {
+                    mi = mi.withSelect(null);
+                }
+            }
+
+            mi = super.visitMethodInvocation(mi, ctx);
+
+            if (mi.getSelect() != null && isAssertion(mi) && TypeUtils.isOfClassType(mi.getSelect().getType(), "org.junit.jupiter.api.Assertions")) {
+                maybeAddImport("org.junit.jupiter.api.Assertions", mi.getSimpleName(), false);
+                mi = mi.withSelect(null);
+            }
+            return mi;
+        }
+
+        private static boolean isAssertion(J.MethodInvocation mi) {
+            return mi.getSimpleName().startsWith("assert") || mi.getSimpleName().startsWith("fail");
+        }
+
+        private static boolean isJUnitAssertClass(@Nullable JavaType type) {
+            return TypeUtils.isOfClassType(type, "junit.framework.TestCase") ||
+                   TypeUtils.isOfClassType(type, "junit.framework.Assert") ||
+                   TypeUtils.isOfClassType(type, "org.junit.Assert");
+        }
+
         @Override
         public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
             J.MethodDeclaration md = super.visitMethodDeclaration(method, ctx);
+            if (!getCursor().getParentTreeCursor().getParentTreeCursor().getMessage(TEST_CASE_CLASS, false)) {
+                return md;
+            }
             updateCursor(md);
             if (md.getSimpleName().startsWith("test") && md.getLeadingAnnotations().stream().noneMatch(JUNIT_TEST_ANNOTATION_MATCHER::matches)) {
                 md = updateMethodDeclarationAnnotationAndModifier(md, "@Test", "org.junit.jupiter.api.Test", ctx);
@@ -15,25 +15,26 @@
  */
 package org.openrewrite.java.testing.junit5;
 
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.RandomizeIdVisitor;
 import org.openrewrite.java.format.AutoFormatVisitor;
-import org.openrewrite.java.search.FindAnnotations;
-import org.openrewrite.java.search.FindFieldsOfType;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.ScopedAutoFormat;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Space;
 import org.openrewrite.java.tree.Statement;
 import org.openrewrite.java.tree.TypeUtils;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -76,18 +77,25 @@ public class MockitoJUnitToMockitoExtension extends Recipe {
         private static final String MOCKITO_TEST_RULE_INVOCATION_KEY = "mockitoTestRuleInvocation";
         private static final String STRICTNESS_KEY = "strictness";
 
-        private static final String EXTEND_WITH_MOCKITO_EXTENSION = "@org.junit.jupiter.api.extension.ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)";
-        private static final String RUN_WITH_MOCKITO_JUNIT_RUNNER = "@org.junit.runner.RunWith(org.mockito.runners.MockitoJUnitRunner.class)";
+        private static final AnnotationMatcher EXTEND_WITH_MOCKITO_EXTENSION = new AnnotationMatcher("@org.junit.jupiter.api.extension.ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)");
+        private static final AnnotationMatcher RUN_WITH_MOCKITO_JUNIT_RUNNER = new AnnotationMatcher("@org.junit.runner.RunWith(org.mockito.runners.MockitoJUnitRunner.class)");
+        private static final Set<String> MOCKITO_RULE_TYPES = new HashSet<>(Arrays.asList(
+                "org.mockito.junit.MockitoRule",
+                "org.mockito.junit.MockitoTestRule"));
+
+        /**
+         * The annotations to add by strictness, with an empty strictness when only `@ExtendWith` is added.
+         */
+        private final Map<String, List<J.Annotation>> mockitoAnnotations = new HashMap<>();
+
+        private @Nullable JavaParser javaParser;
 
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
             J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
-            Set<J.VariableDeclarations> mockitoFields = FindFieldsOfType.find(cd, "org.mockito.junit.MockitoRule");
-            mockitoFields.addAll(FindFieldsOfType.find(cd, "org.mockito.junit.MockitoTestRule"));
+            List<Statement> statements = ListUtils.map(cd.getBody().getStatements(), statement -> isMockitoRuleField(statement) ? null : statement);
 
-            if (!mockitoFields.isEmpty()) {
-                List<Statement> statements = new ArrayList<>(cd.getBody().getStatements());
-                statements.removeAll(mockitoFields);
+            if (statements != cd.getBody().getStatements()) {
                 cd = cd.withBody(cd.getBody().withStatements(statements));
 
                 maybeRemoveImport("org.mockito.junit.MockitoRule");
@@ -97,43 +105,90 @@ public class MockitoJUnitToMockitoExtension extends Recipe {
                 maybeRemoveImport("org.mockito.junit.MockitoJUnit");
                 maybeRemoveImport("org.mockito.quality.Strictness");
 
-                //noinspection DataFlowIssue
-                if (classDecl.getBody().getStatements().size() != cd.getBody().getStatements().size() &&
-                    (FindAnnotations.find(classDecl.withBody(null), RUN_WITH_MOCKITO_JUNIT_RUNNER).isEmpty() &&
-                     FindAnnotations.find(classDecl.withBody(null), EXTEND_WITH_MOCKITO_EXTENSION).isEmpty())) {
+                if (!hasMockitoAnnotation(classDecl)) {
                     String strictness = getCursor().pollMessage(STRICTNESS_KEY);
-
-                    cd = JavaTemplate.builder("@ExtendWith(MockitoExtension.class)")
-                            .javaParser(JavaParser.fromJavaVersion()
-                                    .classpathFromResources(ctx, "junit-jupiter-api-5.9", "mockito-junit-jupiter-3.12"))
-                            .imports("org.junit.jupiter.api.extension.ExtendWith", "org.mockito.junit.jupiter.MockitoExtension")
-                            .build()
-                            .apply(updateCursor(cd), cd.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
-
-                    maybeAddImport("org.junit.jupiter.api.extension.ExtendWith");
-                    maybeAddImport("org.mockito.junit.jupiter.MockitoExtension");
-
                     if (strictness == null) {
                         // As we are in a Rule, and rules where always warn by default,
                         // we cannot use junit5 Strictness.STRICT_STUBS during migration
                         strictness = "Strictness.WARN";
                     }
-                    if (!strictness.contains("STRICT_STUBS")) {
-                        cd = JavaTemplate.builder("@MockitoSettings(strictness = " + strictness + ")")
-                                .javaParser(JavaParser.fromJavaVersion()
-                                        .classpathFromResources(ctx, "junit-jupiter-api-5.9", "mockito-junit-jupiter-3.12"))
-                                .imports("org.mockito.junit.jupiter.MockitoSettings", "org.mockito.quality.Strictness")
-                                .build()
-                                .apply(updateCursor(cd), cd.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
+
+                    maybeAddImport("org.junit.jupiter.api.extension.ExtendWith");
+                    maybeAddImport("org.mockito.junit.jupiter.MockitoExtension");
+                    if (strictness.contains("STRICT_STUBS")) {
+                        strictness = "";
+                    } else {
                         maybeAddImport("org.mockito.junit.jupiter.MockitoSettings", false);
                         maybeAddImport("org.mockito.quality.Strictness", false);
                     }
+
+                    List<J.Annotation> leadingAnnotations = cd.getLeadingAnnotations();
+                    for (J.Annotation annotation : mockitoAnnotations(strictness, ctx)) {
+                        leadingAnnotations = addAnnotation(leadingAnnotations, annotation);
+                    }
+                    cd = ScopedAutoFormat.autoFormat(cd.withLeadingAnnotations(leadingAnnotations), cd.getName(), ctx,
+                            getCursor().getParentTreeCursor());
                 }
             }
 
             return cd;
         }
 
+        private static boolean isMockitoRuleField(Statement statement) {
+            if (statement instanceof J.VariableDeclarations) {
+                JavaType.FullyQualified type = ((J.VariableDeclarations) statement).getTypeAsFullyQualified();
+                return type != null && MOCKITO_RULE_TYPES.contains(type.getFullyQualifiedName());
+            }
+            return false;
+        }
+
+        private static boolean hasMockitoAnnotation(J.ClassDeclaration classDecl) {
+            for (J.Annotation annotation : classDecl.getLeadingAnnotations()) {
+                if (RUN_WITH_MOCKITO_JUNIT_RUNNER.matches(annotation) || EXTEND_WITH_MOCKITO_EXTENSION.matches(annotation)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Parse the annotations once per strictness, after which copies of them are added to every class.
+         */
+        private List<J.Annotation> mockitoAnnotations(String strictness, ExecutionContext ctx) {
+            if (javaParser == null) {
+                javaParser = JavaParser.fromJavaVersion()
+                        .classpathFromResources(ctx, "junit-jupiter-api-5.9", "mockito-junit-jupiter-3.12")
+                        .build();
+            }
+            JavaParser parser = javaParser;
+            return mockitoAnnotations.computeIfAbsent(strictness, s -> {
+                String source = "import org.junit.jupiter.api.extension.ExtendWith;\n" +
+                                "import org.mockito.junit.jupiter.MockitoExtension;\n" +
+                                "import org.mockito.junit.jupiter.MockitoSettings;\n" +
+                                "import org.mockito.quality.Strictness;\n" +
+                                "@ExtendWith(MockitoExtension.class)\n" +
+                                (s.isEmpty() ? "" : "@MockitoSettings(strictness = " + s + ")\n") +
+                                "class Stub {}";
+                parser.reset();
+                return parser.parse(ctx, source)
+                        .filter(J.CompilationUnit.class::isInstance)
+                        .map(J.CompilationUnit.class::cast)
+                        .findFirst()
+                        .map(cu -> cu.getClasses().get(0).getLeadingAnnotations())
+                        .orElseThrow(() -> new IllegalStateException("Unable to parse the Mockito annotations"));
+            });
+        }
+
+        private static List<J.Annotation> addAnnotation(List<J.Annotation> annotations, J.Annotation annotation) {
+            // Keep the annotations ordered by simple name, like JavaCoordinates#addAnnotation would
+            int index = 0;
+            while (index < annotations.size() && annotations.get(index).getSimpleName().compareTo(annotation.getSimpleName()) <= 0) {
+                index++;
+            }
+            J.Annotation copy = (J.Annotation) new RandomizeIdVisitor<Integer>().visitNonNull(annotation.withPrefix(Space.EMPTY), 0);
+            return ListUtils.insert(annotations, copy, index);
+        }
+
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
             if (method.getMethodType() != null) {
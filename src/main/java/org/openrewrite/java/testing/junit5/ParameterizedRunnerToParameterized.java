@@ -25,7 +25,6 @@ import org.openrewrite.marker.Markers;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
 
 import static org.openrewrite.Tree.randomId;
 
@@ -37,11 +36,6 @@ public class ParameterizedRunnerToParameterized extends Recipe {
     private static final AnnotationMatcher PARAMETER = new AnnotationMatcher("@org.junit.runners.Parameterized$Parameter");
     private static final AnnotationMatcher PARAMETERIZED_TEST = new AnnotationMatcher("@org.junit.jupiter.params.ParameterizedTest");
 
-    private static final String PARAMETERS_ANNOTATION_ARGUMENTS = "parameters-annotation-args";
-    private static final String CONSTRUCTOR_ARGUMENTS = "constructor-args";
-    private static final String FIELD_INJECTION_ARGUMENTS = "field-injection-args";
-    private static final String PARAMETERS_METHOD_NAME = "parameters-method-name";
-
     @Override
     public String getDisplayName() {
         return "JUnit 4 `@RunWith(Parameterized.class)` to JUnit Jupiter parameterized tests";
@@ -58,175 +52,15 @@ public class ParameterizedRunnerToParameterized extends Recipe {
     }
 
     private static class ParameterizedRunnerVisitor extends JavaIsoVisitor<ExecutionContext> {
-        @SuppressWarnings("unchecked")
-        @Override
-        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
-            J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
-            Map<String, Object> params = getCursor().pollMessage(classDecl.getId().toString());
-            if (params != null) {
-                String parametersMethodName = (String) params.get(PARAMETERS_METHOD_NAME);
-                List<Expression> parametersAnnotationArguments = (List<Expression>) params.get(PARAMETERS_ANNOTATION_ARGUMENTS);
-                List<Statement> constructorParams = (List<Statement>) params.get(CONSTRUCTOR_ARGUMENTS);
-                Map<Integer, Statement> fieldInjectionParams = (Map<Integer, Statement>) params.get(FIELD_INJECTION_ARGUMENTS);
-                String initMethodName = "init" + cd.getSimpleName();
-
-                // Constructor Injected Test
-                if (parametersMethodName != null && constructorParams != null && constructorParams.stream().anyMatch(org.openrewrite.java.tree.J.VariableDeclarations.class::isInstance)) {
-                    doAfterVisit(new ParameterizedRunnerToParameterizedTestsVisitor(classDecl, parametersMethodName, initMethodName, parametersAnnotationArguments, constructorParams, true, ctx));
-                }
+        private static final String MIGRATION_PLAN = "migrationPlan";
 
-                // Field Injected Test
-                else if (parametersMethodName != null && fieldInjectionParams != null) {
-                    List<Statement> fieldParams = new ArrayList<>(fieldInjectionParams.values());
-                    doAfterVisit(new ParameterizedRunnerToParameterizedTestsVisitor(classDecl, parametersMethodName, initMethodName, parametersAnnotationArguments, fieldParams, false, ctx));
-                }
-            }
-            return cd;
-        }
+        private @Nullable Templates templates;
 
-        @Override
-        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
-            J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
-            Cursor classDeclCursor = getCursor().dropParentUntil(J.ClassDeclaration.class::isInstance);
-            if (m.isConstructor()) {
-                Map<String, Object> params = classDeclCursor.computeMessageIfAbsent(((J.ClassDeclaration) classDeclCursor.getValue()).getId().toString(), v -> new HashMap<>());
-                params.put(CONSTRUCTOR_ARGUMENTS, m.getParameters());
-            }
-            for (J.Annotation annotation : m.getLeadingAnnotations()) {
-                if (PARAMETERS.matches(annotation)) {
-                    Map<String, Object> params = classDeclCursor.computeMessageIfAbsent(((J.ClassDeclaration) classDeclCursor.getValue()).getId().toString(), v -> new HashMap<>());
-                    params.put(PARAMETERS_ANNOTATION_ARGUMENTS, annotation.getArguments());
-                    params.put(PARAMETERS_METHOD_NAME, method.getSimpleName());
-                    break;
-                }
-            }
-            return m;
-        }
-
-        @Override
-        public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, ExecutionContext ctx) {
-            J.VariableDeclarations variableDeclarations = super.visitVariableDeclarations(multiVariable, ctx);
-            Cursor classDeclCursor = getCursor().dropParentUntil(J.ClassDeclaration.class::isInstance);
-            J.Annotation parameterAnnotation = null;
-            Integer position = 0;
-            for (J.Annotation leadingAnnotation : variableDeclarations.getLeadingAnnotations()) {
-                if (PARAMETER.matches(leadingAnnotation)) {
-                    parameterAnnotation = leadingAnnotation;
-                    if (parameterAnnotation.getArguments() != null && !(parameterAnnotation.getArguments().get(0) instanceof J.Empty)) {
-                        J positionArg = parameterAnnotation.getArguments().get(0);
-                        if (positionArg instanceof J.Assignment) {
-                            position = (Integer) ((J.Literal) ((J.Assignment) positionArg).getAssignment()).getValue();
-                        } else {
-                            position = (Integer) ((J.Literal) positionArg).getValue();
-                        }
-                    }
-                    break;
-                }
-            }
-
-            if (parameterAnnotation != null) {
-                // the variableDeclaration will be used for a method parameter set the prefix to empty and remove any comments
-                J.VariableDeclarations variableForInitMethod = variableDeclarations.withLeadingAnnotations(new ArrayList<>()).withModifiers(new ArrayList<>()).withPrefix(Space.EMPTY);
-                if (variableForInitMethod.getTypeExpression() != null) {
-                    variableForInitMethod = variableForInitMethod.withTypeExpression(variableForInitMethod.getTypeExpression().withPrefix(Space.EMPTY).withComments(new ArrayList<>()));
-                }
-                Map<String, TreeMap<Integer, Statement>> params = classDeclCursor.computeMessageIfAbsent(((J.ClassDeclaration) classDeclCursor.getValue()).getId().toString(), v -> new HashMap<>());
-                params.computeIfAbsent(FIELD_INJECTION_ARGUMENTS, v -> new TreeMap<>()).put(position, variableForInitMethod);
-            }
-            return variableDeclarations;
-        }
-    }
-
-    private static class ParameterizedRunnerToParameterizedTestsVisitor extends JavaIsoVisitor<ExecutionContext> {
-
-        private final J.ClassDeclaration scope;
-        private final String initMethodName;
-        private final List<Statement> parameterizedTestMethodParameters;
-
-        @Nullable
-        private final List<Expression> parameterizedTestAnnotationParameters;
-
-        private final String initStatementParamString;
-
-        private final JavaTemplate parameterizedTestTemplate;
-        private final JavaTemplate methodSourceTemplate;
-        private final JavaTemplate initMethodStatementTemplate;
-
-        @Nullable
-        private final JavaTemplate initMethodDeclarationTemplate;
-
-        public ParameterizedRunnerToParameterizedTestsVisitor(J.ClassDeclaration scope,
-                                                              String parametersMethodName,
-                                                              String initMethodName,
-                                                              @Nullable List<Expression> parameterizedTestAnnotationParameters,
-                                                              List<Statement> parameterizedTestMethodParameters,
-                                                              boolean isConstructorInjection,
-                                                              ExecutionContext ctx) {
-            this.scope = scope;
-            this.initMethodName = initMethodName;
-
-            this.parameterizedTestMethodParameters = parameterizedTestMethodParameters.stream()
-                    .map(mp -> mp.withPrefix(Space.EMPTY).withComments(new ArrayList<>()))
-                    .map(Statement.class::cast)
-                    .collect(Collectors.toList());
-
-            initStatementParamString = parameterizedTestMethodParameters.stream()
-                    .filter(J.VariableDeclarations.class::isInstance)
-                    .map(J.VariableDeclarations.class::cast)
-                    .map(v -> v.getVariables().get(0).getSimpleName())
-                    .collect(Collectors.joining(", "));
-
-            // build @ParameterizedTest(#{}) template
-            this.parameterizedTestAnnotationParameters = parameterizedTestAnnotationParameters;
-            String parameterizedTestAnnotationTemplate = parameterizedTestAnnotationParameters != null ?
-                    "@ParameterizedTest(#{any()})" :
-                    "@ParameterizedTest";
-
-            JavaParser.Builder<?, ?> javaParserBuilder = JavaParser.fromJavaVersion()
-                    .classpathFromResources(ctx, "junit-jupiter-api-5.9", "junit-jupiter-params-5.9");
-
-            this.parameterizedTestTemplate = JavaTemplate.builder(parameterizedTestAnnotationTemplate)
-                    .javaParser(javaParserBuilder)
-                    .imports("org.junit.jupiter.params.ParameterizedTest")
-                    .build();
-
-            // build @MethodSource("...") template
-            this.methodSourceTemplate = JavaTemplate.builder("@MethodSource(\"" + parametersMethodName + "\")")
-                    .javaParser(javaParserBuilder)
-                    .imports("org.junit.jupiter.params.provider.MethodSource")
-                    .build();
-
-            // build init-method with parameters template
-            this.initMethodStatementTemplate = JavaTemplate.builder(initMethodName + "(#{});")
-                    .contextSensitive()
-                    .javaParser(javaParserBuilder)
-                    .build();
-
-            // If this is not a constructor injected test then build a javaTemplate for a new init-method
-            if (!isConstructorInjection) {
-                final StringBuilder initMethodTemplate = new StringBuilder("public void ").append(initMethodName).append("() {\n");
-                final List<String> initStatementParams = new ArrayList<>();
-                for (Statement parameterizedTestMethodParameter : parameterizedTestMethodParameters) {
-                    J.VariableDeclarations vd = (J.VariableDeclarations) parameterizedTestMethodParameter;
-                    if (vd.getTypeExpression() != null && vd.getVariables().size() == 1) {
-                        initStatementParams.add(vd.getVariables().get(0).getSimpleName());
-                    } else {
-                        throw new AssertionError("Expected VariableDeclarations with TypeExpression and single Variable, got [" + parameterizedTestMethodParameter + "]");
-                    }
-                }
-
-                for (String p : initStatementParams) {
-                    initMethodTemplate.append("    this.").append(p).append(" = ").append(p).append(";\n");
-                }
-
-                initMethodTemplate.append("}");
-                this.initMethodDeclarationTemplate = JavaTemplate.builder(initMethodTemplate.toString())
-                        .contextSensitive()
-                        .javaParser(javaParserBuilder)
-                        .build();
-            } else {
-                this.initMethodDeclarationTemplate = null;
+        private Templates templates(ExecutionContext ctx) {
+            if (templates == null) {
+                templates = new Templates(ctx);
             }
+            return templates;
         }
 
         @Override
@@ -251,21 +85,27 @@ public class ParameterizedRunnerToParameterized extends Recipe {
 
         @Override
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+            // The constructor, `@Parameters` method and `@Parameter` fields are all members of the class, so the plan
+            // is known before visiting the test methods it applies to
+            MigrationPlan plan = MigrationPlan.of(classDecl);
+            if (plan != null) {
+                getCursor().putMessage(MIGRATION_PLAN, plan);
+            }
             J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
-            if (!scope.isScope(classDecl)) {
+            if (plan == null) {
                 return cd;
             }
 
-
-            if (initMethodDeclarationTemplate != null) {
-                cd = initMethodDeclarationTemplate.apply(updateCursor(cd), cd.getBody().getCoordinates().lastStatement());
+            if (plan.initMethodAssignments != null) {
+                cd = templates(ctx).initMethodDeclaration.apply(updateCursor(cd), cd.getBody().getCoordinates().lastStatement(),
+                        plan.initMethodName, plan.initMethodAssignments);
                 J.Block finalBody = cd.getBody();
                 cd = cd.withBody(cd.getBody().withStatements(ListUtils.map(cd.getBody().getStatements(), stmt -> {
                     if (stmt instanceof J.MethodDeclaration) {
                         J.MethodDeclaration md = (J.MethodDeclaration) stmt;
-                        if (md.getName().getSimpleName().equals(initMethodName)) {
+                        if (md.getName().getSimpleName().equals(plan.initMethodName)) {
                             J.Block body = md.getBody(); // Preserve body formatting
-                            return autoFormat(md.withParameters(parameterizedTestMethodParameters).withBody(null),
+                            return autoFormat(md.withParameters(plan.testMethodParameters).withBody(null),
                                     ctx, new Cursor(getCursor(), finalBody)).withBody(body);
                         }
                     }
@@ -274,13 +114,12 @@ public class ParameterizedRunnerToParameterized extends Recipe {
             }
 
             // if a constructor was converted to an init method then remove final modifiers from any associated field variables.
-            final Set<String> fieldNames = getCursor().pollMessage("INIT_VARS");
-            if (fieldNames != null && !fieldNames.isEmpty()) {
+            if (!plan.initVars.isEmpty()) {
                 J.Block finalBody = cd.getBody();
                 cd = cd.withBody(cd.getBody().withStatements(ListUtils.map(cd.getBody().getStatements(), statement -> {
                     if (statement instanceof J.VariableDeclarations) {
                         J.VariableDeclarations varDecls = (J.VariableDeclarations) statement;
-                        if (varDecls.getVariables().stream().anyMatch(it -> fieldNames.contains(it.getSimpleName())) &&
+                        if (varDecls.getVariables().stream().anyMatch(it -> plan.initVars.contains(it.getSimpleName())) &&
                             (varDecls.hasModifier(J.Modifier.Type.Final))) {
                             varDecls = varDecls.withModifiers(ListUtils.map(varDecls.getModifiers(), mod -> mod.getType() == J.Modifier.Type.Final ? null : mod));
                             statement = maybeAutoFormat(statement, varDecls, ctx, new Cursor(getCursor(), finalBody));
@@ -292,10 +131,17 @@ public class ParameterizedRunnerToParameterized extends Recipe {
             return cd;
         }
 
+        /**
+         * @return The plan of the nearest enclosing class, if that class is being migrated.
+         */
+        private @Nullable MigrationPlan enclosingPlan() {
+            return getCursor().dropParentUntil(J.ClassDeclaration.class::isInstance).getMessage(MIGRATION_PLAN);
+        }
+
         @Override
         public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, ExecutionContext ctx) {
             J.VariableDeclarations vdecls = super.visitVariableDeclarations(multiVariable, ctx);
-            if (!getCursor().dropParentUntil(J.ClassDeclaration.class::isInstance).isScopeInPath(scope)) {
+            if (enclosingPlan() == null) {
                 return vdecls;
             }
 
@@ -316,23 +162,26 @@ public class ParameterizedRunnerToParameterized extends Recipe {
         @Override
         public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
             J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
-            if (!getCursor().dropParentUntil(J.ClassDeclaration.class::isInstance).isScopeInPath(scope)) {
+            MigrationPlan plan = enclosingPlan();
+            if (plan == null) {
                 return m;
             }
+            Templates templates = templates(ctx);
+
             // Replace @Test with @ParameterizedTest
             m = m.withLeadingAnnotations(ListUtils.map(m.getLeadingAnnotations(), annotation -> {
                 if (JUPITER_TEST.matches(annotation) || JUNIT_TEST.matches(annotation)) {
                     List<Comment> annotationComments = annotation.getComments();
-                    if (parameterizedTestAnnotationParameters == null) {
-                        annotation = parameterizedTestTemplate.apply(
+                    if (plan.parametersAnnotationArguments == null) {
+                        annotation = templates.parameterizedTest.apply(
                                 new Cursor(getCursor(), annotation),
                                 annotation.getCoordinates().replace()
                         );
                     } else {
-                        annotation = parameterizedTestTemplate.apply(
+                        annotation = templates.parameterizedTestWithArguments.apply(
                                 new Cursor(getCursor(), annotation),
                                 annotation.getCoordinates().replace(),
-                                parameterizedTestAnnotationParameters.get(0)
+                                plan.parametersAnnotationArguments.get(0)
                         );
                     }
                     if (!annotationComments.isEmpty()) {
@@ -344,37 +193,210 @@ public class ParameterizedRunnerToParameterized extends Recipe {
 
             // Add @MethodSource, insert test init statement, add test method parameters
             if (m.getLeadingAnnotations().stream().anyMatch(PARAMETERIZED_TEST::matches)) {
-                m = methodSourceTemplate.apply(
+                m = templates.methodSource.apply(
                         updateCursor(m),
-                        m.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName))
+                        m.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)),
+                        plan.parametersMethodName
                 );
                 assert m.getBody() != null;
                 JavaCoordinates newStatementCoordinates = !m.getBody().getStatements().isEmpty() ? m.getBody().getStatements().get(0).getCoordinates().before() : m.getBody().getCoordinates().lastStatement();
-                m = initMethodStatementTemplate.apply(updateCursor(m), newStatementCoordinates, initStatementParamString);
-                m = maybeAutoFormat(m, m.withParameters(parameterizedTestMethodParameters), m.getName(), ctx, getCursor().getParentTreeCursor());
+                m = templates.initMethodStatement.apply(updateCursor(m), newStatementCoordinates, plan.initMethodName, plan.initStatementParams);
+                m = maybeAutoFormat(m, m.withParameters(plan.testMethodParameters), m.getName(), ctx, getCursor().getParentTreeCursor());
             }
 
             // Change constructor to test init method
-            if (initMethodDeclarationTemplate == null && m.isConstructor()) {
-                m = m.withName(m.getName().withSimpleName(initMethodName));
+            if (plan.initMethodAssignments == null && m.isConstructor()) {
+                m = m.withName(m.getName().withSimpleName(plan.initMethodName));
                 m = maybeAutoFormat(m, m.withReturnTypeExpression(new J.Primitive(randomId(), Space.EMPTY, Markers.EMPTY, JavaType.Primitive.Void)),
                         m.getName(), ctx, getCursor().getParentTreeCursor());
 
                 // converting a constructor to a void init method may require removing final modifiers from field vars.
                 if (m.getBody() != null) {
-                    Set<String> fieldNames = m.getBody().getStatements().stream()
-                            .filter(J.Assignment.class::isInstance).map(J.Assignment.class::cast)
-                            .map(it -> {
-                                if (it.getVariable() instanceof J.FieldAccess) {
-                                    return ((J.FieldAccess) it.getVariable()).getName().getSimpleName();
-                                }
-                                return it.getVariable() instanceof J.Identifier ? ((J.Identifier) it.getVariable()).getSimpleName() : null;
-                            })
-                            .collect(Collectors.toSet());
-                    getCursor().dropParentUntil(J.ClassDeclaration.class::isInstance).putMessage("INIT_VARS", fieldNames);
+                    for (Statement statement : m.getBody().getStatements()) {
+                        if (statement instanceof J.Assignment) {
+                            Expression variable = ((J.Assignment) statement).getVariable();
+                            if (variable instanceof J.FieldAccess) {
+                                plan.initVars.add(((J.FieldAccess) variable).getName().getSimpleName());
+                            } else if (variable instanceof J.Identifier) {
+                                plan.initVars.add(((J.Identifier) variable).getSimpleName());
+                            }
+                        }
+                    }
                 }
             }
             return m;
         }
     }
+
+    /**
+     * What a single `@RunWith(Parameterized.class)` class is migrated with, collected from its members.
+     */
+    private static class MigrationPlan {
+        final String parametersMethodName;
+        final String initMethodName;
+
+        @Nullable
+        final List<Expression> parametersAnnotationArguments;
+
+        /**
+         * The constructor or `@Parameter` field parameters, as parameters of the test and init methods.
+         */
+        final List<Statement> testMethodParameters;
+
+        final String initStatementParams;
+
+        /**
+         * The body of the init method to add for field injected tests, or null when the constructor is
+         * converted to the init method.
+         */
+        @Nullable
+        final String initMethodAssignments;
+
+        /**
+         * Fields assigned by a constructor converted to the init method, which can no longer be final.
+         */
+        final Set<String> initVars = new HashSet<>();
+
+        private MigrationPlan(String parametersMethodName, String initMethodName,
+                              @Nullable List<Expression> parametersAnnotationArguments,
+                              List<Statement> parameters, @Nullable String initMethodAssignments) {
+            this.parametersMethodName = parametersMethodName;
+            this.initMethodName = initMethodName;
+            this.parametersAnnotationArguments = parametersAnnotationArguments;
+            this.initMethodAssignments = initMethodAssignments;
+
+            List<Statement> testMethodParameters = new ArrayList<>(parameters.size());
+            StringJoiner initStatementParams = new StringJoiner(", ");
+            for (Statement parameter : parameters) {
+                testMethodParameters.add(parameter.withPrefix(Space.EMPTY).withComments(new ArrayList<>()));
+                if (parameter instanceof J.VariableDeclarations) {
+                    initStatementParams.add(((J.VariableDeclarations) parameter).getVariables().get(0).getSimpleName());
+                }
+            }
+            this.testMethodParameters = testMethodParameters;
+            this.initStatementParams = initStatementParams.toString();
+        }
+
+        static @Nullable MigrationPlan of(J.ClassDeclaration classDecl) {
+            String parametersMethodName = null;
+            List<Expression> parametersAnnotationArguments = null;
+            List<Statement> constructorParams = null;
+            List<Integer> fieldPositions = new ArrayList<>();
+            List<Statement> fieldParams = new ArrayList<>();
+            for (Statement statement : classDecl.getBody().getStatements()) {
+                if (statement instanceof J.MethodDeclaration) {
+                    J.MethodDeclaration m = (J.MethodDeclaration) statement;
+                    if (m.isConstructor()) {
+                        constructorParams = m.getParameters();
+                    }
+                    for (J.Annotation annotation : m.getLeadingAnnotations()) {
+                        if (PARAMETERS.matches(annotation)) {
+                            parametersAnnotationArguments = annotation.getArguments();
+                            parametersMethodName = m.getSimpleName();
+                            break;
+                        }
+                    }
+                } else if (statement instanceof J.VariableDeclarations) {
+                    J.VariableDeclarations vd = (J.VariableDeclarations) statement;
+                    for (J.Annotation annotation : vd.getLeadingAnnotations()) {
+                        if (PARAMETER.matches(annotation)) {
+                            // Keep the fields ordered by their position, later fields replace earlier ones at the same position
+                            int position = parameterPosition(annotation);
+                            int index = Collections.binarySearch(fieldPositions, position);
+                            if (index >= 0) {
+                                fieldParams.set(index, parameterForInitMethod(vd));
+                            } else {
+                                fieldPositions.add(-index - 1, position);
+                                fieldParams.add(-index - 1, parameterForInitMethod(vd));
+                            }
+                            break;
+                        }
+                    }
+                }
+            }
+
+            if (parametersMethodName == null) {
+                return null;
+            }
+            String initMethodName = "init" + classDecl.getSimpleName();
+
+            // Constructor Injected Test
+            if (constructorParams != null && constructorParams.stream().anyMatch(J.VariableDeclarations.class::isInstance)) {
+                return new MigrationPlan(parametersMethodName, initMethodName, parametersAnnotationArguments, constructorParams, null);
+            }
+
+            // Field Injected Test
+            if (!fieldParams.isEmpty()) {
+                StringBuilder initMethodAssignments = new StringBuilder();
+                for (Statement fieldParam : fieldParams) {
+                    J.VariableDeclarations vd = (J.VariableDeclarations) fieldParam;
+                    if (vd.getTypeExpression() == null || vd.getVariables().size() != 1) {
+                        throw new AssertionError("Expected VariableDeclarations with TypeExpression and single Variable, got [" + fieldParam + "]");
+                    }
+                    String p = vd.getVariables().get(0).getSimpleName();
+                    initMethodAssignments.append("    this.").append(p).append(" = ").append(p).append(";\n");
+                }
+                return new MigrationPlan(parametersMethodName, initMethodName, parametersAnnotationArguments, fieldParams,
+                        initMethodAssignments.toString());
+            }
+            return null;
+        }
+
+        private static int parameterPosition(J.Annotation parameterAnnotation) {
+            if (parameterAnnotation.getArguments() != null && !(parameterAnnotation.getArguments().get(0) instanceof J.Empty)) {
+                J positionArg = parameterAnnotation.getArguments().get(0);
+                if (positionArg instanceof J.Assignment) {
+                    return (Integer) ((J.Literal) ((J.Assignment) positionArg).getAssignment()).getValue();
+                }
+                return (Integer) ((J.Literal) positionArg).getValue();
+            }
+            return 0;
+        }
+
+        private static J.VariableDeclarations parameterForInitMethod(J.VariableDeclarations field) {
+            // the variableDeclaration will be used for a method parameter set the prefix to empty and remove any comments
+            J.VariableDeclarations variableForInitMethod = field.withLeadingAnnotations(new ArrayList<>()).withModifiers(new ArrayList<>()).withPrefix(Space.EMPTY);
+            if (variableForInitMethod.getTypeExpression() != null) {
+                variableForInitMethod = variableForInitMethod.withTypeExpression(variableForInitMethod.getTypeExpression().withPrefix(Space.EMPTY).withComments(new ArrayList<>()));
+            }
+            return variableForInitMethod;
+        }
+    }
+
+    /**
+     * Templates shared by all migrated classes, the class specific names are substituted on application.
+     */
+    private static class Templates {
+        final JavaTemplate parameterizedTest;
+        final JavaTemplate parameterizedTestWithArguments;
+        final JavaTemplate methodSource;
+        final JavaTemplate initMethodStatement;
+        final JavaTemplate initMethodDeclaration;
+
+        Templates(ExecutionContext ctx) {
+            JavaParser.Builder<?, ?> javaParserBuilder = JavaParser.fromJavaVersion()
+                    .classpathFromResources(ctx, "junit-jupiter-api-5.9", "junit-jupiter-params-5.9");
+
+            parameterizedTest = JavaTemplate.builder("@ParameterizedTest")
+                    .javaParser(javaParserBuilder)
+                    .imports("org.junit.jupiter.params.ParameterizedTest")
+                    .build();
+            parameterizedTestWithArguments = JavaTemplate.builder("@ParameterizedTest(#{any()})")
+                    .javaParser(javaParserBuilder)
+                    .imports("org.junit.jupiter.params.ParameterizedTest")
+                    .build();
+            methodSource = JavaTemplate.builder("@MethodSource(\"#{}\")")
+                    .javaParser(javaParserBuilder)
+                    .imports("org.junit.jupiter.params.provider.MethodSource")
+                    .build();
+            initMethodStatement = JavaTemplate.builder("#{}(#{});")
+                    .contextSensitive()
+                    .javaParser(javaParserBuilder)
+                    .build();
+            initMethodDeclaration = JavaTemplate.builder("public void #{}() {\n#{}}")
+                    .contextSensitive()
+                    .javaParser(javaParserBuilder)
+                    .build();
+        }
+    }
 }
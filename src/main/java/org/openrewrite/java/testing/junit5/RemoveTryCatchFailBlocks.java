@@ -15,9 +15,11 @@
  */
 package org.openrewrite.java.testing.junit5;
 
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
+import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.UsesMethod;
@@ -57,27 +59,17 @@ public class RemoveTryCatchFailBlocks extends Recipe {
     }
 
     private static class RemoveTryCatchBlocksFromUnitsTestsVisitor extends JavaVisitor<ExecutionContext> {
+        private final ReturnDetector returnDetector = new ReturnDetector();
+
         @Override
         public J visitTry(J.Try jtry, ExecutionContext ctx) {
             J.Try try_ = (J.Try) super.visitTry(jtry, ctx);
+            // Structural checks first, as they are cheap compared to searching the body for a return statement
             // only one catch block, such that we know it's safe to apply this recipe, and doesn't have resources
             if (try_.getResources() != null || try_.getCatches().size() != 1 || try_.getFinally() != null) {
                 return try_;
             }
 
-            // Skip if any return is found, since we can't return from `assertDoesNotThrow`
-            AtomicBoolean returnFound = new AtomicBoolean(false);
-            new JavaIsoVisitor<AtomicBoolean>() {
-                @Override
-                public J.Return visitReturn(J.Return _return, AtomicBoolean atomicBoolean) {
-                    atomicBoolean.set(true);
-                    return _return;
-                }
-            }.visit(try_, returnFound, getCursor().getParentOrThrow());
-            if (returnFound.get()) {
-                return try_;
-            }
-
             /*
             Only one statement in the catch block, which is a fail(), with no or a simple String argument.
             We would not want to convert for instance fail(cleanUpAndReturnMessage()) might still have side
@@ -98,6 +90,13 @@ public class RemoveTryCatchFailBlocks extends Recipe {
                 return try_;
             }
 
+            // Skip if any return is found, since we can't return from `assertDoesNotThrow`
+            AtomicBoolean returnFound = new AtomicBoolean(false);
+            returnDetector.visit(try_.getBody(), returnFound, getCursor());
+            if (returnFound.get()) {
+                return try_;
+            }
+
             // Only replace known cases
             Expression failCallArgument = failCall.getArguments().get(0);
             if (failCallArgument instanceof J.Empty) {
@@ -161,4 +160,20 @@ public class RemoveTryCatchFailBlocks extends Recipe {
                     .apply(getCursor(), try_.getCoordinates().replace(), try_.getBody(), failCallArgument);
         }
     }
+
+    /**
+     * Detects return statements, and stops visiting at the first one found.
+     */
+    private static class ReturnDetector extends JavaIsoVisitor<AtomicBoolean> {
+        @Override
+        public @Nullable J visit(@Nullable Tree tree, AtomicBoolean found) {
+            return found.get() ? (J) tree : super.visit(tree, found);
+        }
+
+        @Override
+        public J.Return visitReturn(J.Return _return, AtomicBoolean found) {
+            found.set(true);
+            return _return;
+        }
+    }
 }
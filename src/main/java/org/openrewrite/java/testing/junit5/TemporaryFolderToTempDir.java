@@ -22,16 +22,20 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.TypeRewrite;
 import org.openrewrite.java.tree.*;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class TemporaryFolderToTempDir extends Recipe {
 
+    private static final String TEMPORARY_FOLDER = "org.junit.rules.TemporaryFolder";
+    private static final JavaType.FullyQualified FILE = JavaType.ShallowClass.build("java.io.File");
+
+    private static final String MIGRATED = "migrated";
+    private static final String NEW_FOLDER_INVOCATIONS = "newFolderInvocations";
+
     @Override
     public String getDisplayName() {
         return "Use JUnit Jupiter `@TempDir`";
@@ -44,11 +48,12 @@ public class TemporaryFolderToTempDir extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesType<>("org.junit.rules.TemporaryFolder", false), new JavaVisitor<ExecutionContext>() {
+        return Preconditions.check(new UsesType<>(TEMPORARY_FOLDER, false), new JavaVisitor<ExecutionContext>() {
 
             final AnnotationMatcher classRule = new AnnotationMatcher("@org.junit.ClassRule");
             final AnnotationMatcher rule = new AnnotationMatcher("@org.junit.Rule");
 
+            private final TypeRewrite toFile = new TypeRewrite(TEMPORARY_FOLDER, FILE);
 
             private JavaParser.@Nullable Builder<?, ?> javaParser;
 
@@ -58,31 +63,100 @@ public class TemporaryFolderToTempDir extends Recipe {
                             .classpathFromResources(ctx, "junit-jupiter-api-5.9");
                 }
                 return javaParser;
+            }
 
+            private @Nullable JavaTemplate newFolderMethod;
+
+            private JavaTemplate newFolderMethod(ExecutionContext ctx) {
+                if (newFolderMethod == null) {
+                    newFolderMethod = JavaTemplate.builder(
+                                    "private static File newFolder(File root, String... subDirs) throws IOException {\n" +
+                                    "    String subFolder = String.join(\"/\", subDirs);\n" +
+                                    "    File result = new File(root, subFolder);\n" +
+                                    "    if(!result.mkdirs()) {\n" +
+                                    "        throw new IOException(\"Couldn't create folders \" + root);\n" +
+                                    "    }\n" +
+                                    "    return result;\n" +
+                                    "}")
+                            .contextSensitive()
+                            .imports("java.io.File", "java.io.IOException")
+                            .javaParser(javaParser(ctx))
+                            .build();
+                }
+                return newFolderMethod;
             }
 
             @Override
             public J visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                // References to `TemporaryFolder` are changed to `File` in this same traversal, see visitType and
+                // visitIdentifier, but only kept when the compilation unit is actually migrated
                 J.CompilationUnit c = (J.CompilationUnit) super.visitCompilationUnit(cu, ctx);
-                if (c != cu) {
-                    c = (J.CompilationUnit) new ChangeType(
-                            "org.junit.rules.TemporaryFolder", "java.io.File", true).getVisitor()
-                            .visit(c, ctx);
-                    maybeAddImport("java.io.File");
-                    maybeAddImport("org.junit.jupiter.api.io.TempDir");
-                    maybeRemoveImport("org.junit.ClassRule");
-                    maybeRemoveImport("org.junit.Rule");
-                    maybeRemoveImport("org.junit.rules.TemporaryFolder");
+                if (getCursor().getMessage(MIGRATED) == null) {
+                    return cu;
                 }
+                maybeAddImport("java.io.File");
+                maybeAddImport("org.junit.jupiter.api.io.TempDir");
+                maybeRemoveImport("org.junit.ClassRule");
+                maybeRemoveImport("org.junit.Rule");
+                maybeRemoveImport("org.junit.rules.TemporaryFolder");
                 return c;
             }
 
+            private void markMigrated() {
+                getCursor().putMessageOnFirstEnclosing(J.CompilationUnit.class, MIGRATED, true);
+            }
+
+            @Override
+            public J visitImport(J.Import anImport, ExecutionContext ctx) {
+                return anImport;
+            }
+
+            @Override
+            public J visitIdentifier(J.Identifier ident, ExecutionContext ctx) {
+                return super.visitIdentifier(toFile.rename(ident), ctx);
+            }
+
+            @Override
+            public J visitFieldAccess(J.FieldAccess fieldAccess, ExecutionContext ctx) {
+                J.FieldAccess file = toFile.replaceFullyQualified(fieldAccess);
+                return file != null ? file : super.visitFieldAccess(fieldAccess, ctx);
+            }
+
+            @Override
+            public @Nullable JavaType visitType(@Nullable JavaType javaType, ExecutionContext ctx) {
+                return toFile.rewrite(javaType);
+            }
+
+            @Override
+            public J visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                J.ClassDeclaration cd = (J.ClassDeclaration) super.visitClassDeclaration(classDecl, ctx);
+                Set<UUID> newFolderInvocations = getCursor().getMessage(NEW_FOLDER_INVOCATIONS);
+                if (newFolderInvocations == null) {
+                    return cd;
+                }
+                // One helper method and one fix-up of the translated invocations per class, however many there are
+                J.MethodDeclaration newFolderMethod = findNewFolderMethod(cd);
+                if (newFolderMethod == null) {
+                    cd = newFolderMethod(ctx).apply(updateCursor(cd), cd.getBody().getCoordinates().lastStatement());
+                    newFolderMethod = (J.MethodDeclaration) cd.getBody().getStatements().get(cd.getBody().getStatements().size() - 1);
+                    maybeAddImport("java.io.File");
+                    maybeAddImport("java.io.IOException");
+                }
+                JavaType.Method newFolderMethodType = newFolderMethod.getMethodType();
+                if (newFolderMethodType != null) {
+                    cd = (J.ClassDeclaration) new SetNewFolderMethodType(newFolderInvocations, newFolderMethodType)
+                            .visitNonNull(cd, ctx, getCursor().getParentOrThrow());
+                }
+                return cd;
+            }
+
             @Override
             public J visitVariableDeclarations(J.VariableDeclarations multiVariable, ExecutionContext ctx) {
                 J.VariableDeclarations mv = (J.VariableDeclarations) super.visitVariableDeclarations(multiVariable, ctx);
-                if (!isRuleAnnotatedTemporaryFolder(mv)) {
+                if (!isRuleAnnotatedTemporaryFolder(multiVariable)) {
                     return mv;
                 }
+                markMigrated();
                 String fieldVars = mv.getVariables().stream()
                         .map(fv -> fv.withInitializer(null))
                         .map(it -> it.print(getCursor()))
@@ -103,7 +177,7 @@ public class TemporaryFolderToTempDir extends Recipe {
             }
 
             private boolean isRuleAnnotatedTemporaryFolder(J.VariableDeclarations vd) {
-                return TypeUtils.isOfClassType(vd.getTypeAsFullyQualified(), "org.junit.rules.TemporaryFolder") &&
+                return TypeUtils.isOfClassType(vd.getTypeAsFullyQualified(), TEMPORARY_FOLDER) &&
                        vd.getLeadingAnnotations().stream().anyMatch(anno -> classRule.matches(anno) || rule.matches(anno));
             }
 
@@ -111,18 +185,22 @@ public class TemporaryFolderToTempDir extends Recipe {
             public @Nullable J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
                 updateCursor(mi);
-                if (mi.getSelect() != null && mi.getMethodType() != null &&
-                    TypeUtils.isOfClassType(mi.getMethodType().getDeclaringType(), "org.junit.rules.TemporaryFolder")) {
+                // The declaring type of `mi` has already been changed to `File`
+                if (mi.getSelect() != null && method.getMethodType() != null &&
+                    TypeUtils.isOfClassType(method.getMethodType().getDeclaringType(), TEMPORARY_FOLDER)) {
                     switch (mi.getSimpleName()) {
                         case "newFile":
+                            markMigrated();
                             return convertToNewFile(mi, ctx);
                         case "newFolder":
-                            doAfterVisit(new AddNewFolderMethod(mi));
-                            break;
+                            markMigrated();
+                            return convertToNewFolder(mi, ctx);
                         case "create":
+                            markMigrated();
                             //noinspection ConstantConditions
                             return null;
                         case "getRoot":
+                            markMigrated();
                             return mi.getSelect().withPrefix(mi.getPrefix());
                         default:
                             return mi;
@@ -131,11 +209,50 @@ public class TemporaryFolderToTempDir extends Recipe {
                 return mi;
             }
 
+            private J convertToNewFolder(J.MethodInvocation mi, ExecutionContext ctx) {
+                if (mi.getSelect() == null) {
+                    return mi;
+                }
+                J tempDir = mi.getSelect().withType(FILE);
+                List<Expression> args = mi.getArguments().stream().filter(arg -> !(arg instanceof J.Empty)).collect(Collectors.toList());
+                J.MethodInvocation newFolder;
+                if (args.isEmpty()) {
+                    newFolder = JavaTemplate.builder("newFolder(#{any(java.io.File)}, \"junit\")")
+                            .imports("java.io.File")
+                            .javaParser(javaParser(ctx))
+                            .build()
+                            .apply(getCursor(), mi.getCoordinates().replace(), tempDir);
+                } else if (args.size() == 1) {
+                    newFolder = JavaTemplate.builder("newFolder(#{any(java.io.File)}, #{any(java.lang.String)})")
+                            .imports("java.io.File")
+                            .javaParser(javaParser(ctx))
+                            .build()
+                            .apply(getCursor(), mi.getCoordinates().replace(), tempDir, args.get(0));
+                } else {
+                    StringBuilder sb = new StringBuilder("newFolder(#{any(java.io.File)}");
+                    args.forEach(arg -> sb.append(", #{any(java.lang.String)}"));
+                    sb.append(")");
+                    List<Object> templateArgs = new ArrayList<>(args);
+                    templateArgs.add(0, tempDir);
+                    newFolder = JavaTemplate.builder(sb.toString())
+                            .contextSensitive()
+                            .imports("java.io.File")
+                            .javaParser(javaParser(ctx))
+                            .build()
+                            .apply(getCursor(), mi.getCoordinates().replace(), templateArgs.toArray());
+                }
+                // The helper method and its type are added to the class in visitClassDeclaration
+                getCursor().dropParentUntil(J.ClassDeclaration.class::isInstance)
+                        .<Set<UUID>>computeMessageIfAbsent(NEW_FOLDER_INVOCATIONS, k -> new HashSet<>())
+                        .add(newFolder.getId());
+                return newFolder;
+            }
+
             private J convertToNewFile(J.MethodInvocation mi, ExecutionContext ctx) {
                 if (mi.getSelect() == null) {
                     return mi;
                 }
-                J tempDir = mi.getSelect().withType(JavaType.ShallowClass.build("java.io.File"));
+                J tempDir = mi.getSelect().withType(FILE);
                 List<Expression> args = mi.getArguments().stream().filter(arg -> !(arg instanceof J.Empty)).collect(Collectors.toList());
                 if (args.isEmpty()) {
                     return JavaTemplate.builder("File.createTempFile(\"junit\", null, #{any(java.io.File)})")
@@ -154,154 +271,48 @@ public class TemporaryFolderToTempDir extends Recipe {
         });
     }
 
-    private static class AddNewFolderMethod extends JavaIsoVisitor<ExecutionContext> {
-        private final J.MethodInvocation methodInvocation;
-
-
-        private JavaParser.@Nullable Builder<?, ?> javaParser;
-
-        private JavaParser.Builder<?, ?> javaParser(ExecutionContext ctx) {
-            if (javaParser == null) {
-                javaParser = JavaParser.fromJavaVersion()
-                        .classpathFromResources(ctx, "junit-jupiter-api-5.9");
+    private static @Nullable J.MethodDeclaration findNewFolderMethod(J.ClassDeclaration cd) {
+        for (Statement statement : cd.getBody().getStatements()) {
+            if (statement instanceof J.MethodDeclaration) {
+                J.MethodDeclaration m = (J.MethodDeclaration) statement;
+                List<Statement> params = m.getParameters();
+                if ("newFolder".equals(m.getSimpleName()) &&
+                    params.size() == 2 &&
+                    hasClassType(params.get(0), "java.io.File") &&
+                    hasClassType(params.get(1), "java.lang.String")) {
+                    return m;
+                }
             }
-            return javaParser;
-
         }
+        return null;
+    }
 
-        public AddNewFolderMethod(J.MethodInvocation methodInvocation) {
-            this.methodInvocation = methodInvocation;
+    private static boolean hasClassType(Statement j, String classType) {
+        if (!(j instanceof J.VariableDeclarations)) {
+            return false;
         }
+        J.VariableDeclarations variable = (J.VariableDeclarations) j;
+        return variable.getTypeExpression() != null &&
+               TypeUtils.isOfClassType(variable.getTypeExpression().getType(), classType);
+    }
 
-        private boolean hasClassType(Statement j, @Nullable String classType) {
-            if (classType == null) {
-                return false;
-            }
-
-            if (!(j instanceof J.VariableDeclarations)) {
-                return false;
-            }
-
-            J.VariableDeclarations variable = (J.VariableDeclarations) j;
-
-            if (variable.getTypeExpression() == null) {
-                return false;
-            }
+    private static class SetNewFolderMethodType extends JavaIsoVisitor<ExecutionContext> {
+        private final Set<UUID> newFolderInvocations;
+        private final JavaType.Method newFolderMethodType;
 
-            return TypeUtils.isOfClassType(variable.getTypeExpression().getType(), classType);
+        SetNewFolderMethodType(Set<UUID> newFolderInvocations, JavaType.Method newFolderMethodType) {
+            this.newFolderInvocations = newFolderInvocations;
+            this.newFolderMethodType = newFolderMethodType;
         }
 
         @Override
-        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
-            J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
-
-            Stream<J.MethodDeclaration> methods = cd.getBody().getStatements().stream()
-                    .filter(J.MethodDeclaration.class::isInstance)
-                    .map(J.MethodDeclaration.class::cast);
-
-            JavaType.Method newFolderMethodDeclaration = methods
-                    .filter(m -> {
-                        List<Statement> params = m.getParameters();
-                        return "newFolder".equals(m.getSimpleName()) &&
-                               params.size() == 2 &&
-                               hasClassType(params.get(0), "java.io.File") &&
-                               hasClassType(params.get(1), "java.lang.String");
-                    }).map(J.MethodDeclaration::getMethodType).filter(Objects::nonNull).findAny().orElse(null);
-
-            if (newFolderMethodDeclaration == null) {
-                cd = JavaTemplate.builder(
-                                "private static File newFolder(File root, String... subDirs) throws IOException {\n" +
-                                "    String subFolder = String.join(\"/\", subDirs);\n" +
-                                "    File result = new File(root, subFolder);\n" +
-                                "    if(!result.mkdirs()) {\n" +
-                                "        throw new IOException(\"Couldn't create folders \" + root);\n" +
-                                "    }\n" +
-                                "    return result;\n" +
-                                "}")
-                        .contextSensitive()
-                        .imports("java.io.File", "java.io.IOException")
-                        .javaParser(javaParser(ctx))
-                        .build()
-                        .apply(updateCursor(cd), cd.getBody().getCoordinates().lastStatement());
-                newFolderMethodDeclaration = ((J.MethodDeclaration) cd.getBody().getStatements().get(cd.getBody().getStatements().size() - 1)).getMethodType();
-                maybeAddImport("java.io.File");
-                maybeAddImport("java.io.IOException");
-            }
-            assert (newFolderMethodDeclaration != null);
-            doAfterVisit(new TranslateNewFolderMethodInvocation(methodInvocation, newFolderMethodDeclaration));
-            return cd;
-        }
-
-        private static class TranslateNewFolderMethodInvocation extends JavaVisitor<ExecutionContext> {
-            J.MethodInvocation methodScope;
-            JavaType.Method newMethodType;
-
-
-            private JavaParser.@Nullable Builder<?, ?> javaParser;
-
-            private JavaParser.Builder<?, ?> javaParser(ExecutionContext ctx) {
-                if (javaParser == null) {
-                    javaParser = JavaParser.fromJavaVersion()
-                            .classpathFromResources(ctx, "junit-jupiter-api-5.9");
-                }
-                return javaParser;
-
-            }
-
-            public TranslateNewFolderMethodInvocation(J.MethodInvocation method, JavaType.Method newMethodType) {
-                this.methodScope = method;
-                this.newMethodType = newMethodType;
-            }
-
-            @Override
-            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
-                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
-                if (!mi.isScope(methodScope)) {
-                    return mi;
-                }
-                if (mi.getSelect() != null) {
-                    J tempDir = mi.getSelect().withType(JavaType.ShallowClass.build("java.io.File"));
-                    List<Expression> args = mi.getArguments().stream().filter(arg -> !(arg instanceof J.Empty)).collect(Collectors.toList());
-                    if (args.isEmpty()) {
-                        mi = JavaTemplate.builder("newFolder(#{any(java.io.File)}, \"junit\")")
-                                .imports("java.io.File")
-                                .javaParser(javaParser(ctx))
-                                .build()
-                                .apply(updateCursor(mi), mi.getCoordinates().replace(), tempDir);
-                    } else if (args.size() == 1) {
-                        mi = JavaTemplate.builder("newFolder(#{any(java.io.File)}, #{any(java.lang.String)})")
-                                .imports("java.io.File")
-                                .javaParser(javaParser(ctx))
-                                .build()
-                                .apply(
-                                        updateCursor(mi),
-                                        mi.getCoordinates().replace(),
-                                        tempDir,
-                                        args.get(0)
-                                );
-                    } else {
-                        final StringBuilder sb = new StringBuilder("newFolder(#{any(java.io.File)}");
-                        args.forEach(arg -> sb.append(", #{any(java.lang.String)}"));
-                        sb.append(")");
-                        List<Object> templateArgs = new ArrayList<>(args);
-                        templateArgs.add(0, tempDir);
-                        mi = JavaTemplate.builder(sb.toString())
-                                .contextSensitive()
-                                .imports("java.io.File")
-                                .javaParser(javaParser(ctx))
-                                .build()
-                                .apply(
-                                        updateCursor(mi),
-                                        mi.getCoordinates().replace(),
-                                        templateArgs.toArray()
-                                );
-                    }
-                    mi = mi.withMethodType(newMethodType);
-                    J.ClassDeclaration parentClass = getCursor().dropParentUntil(J.ClassDeclaration.class::isInstance).getValue();
-                    mi = mi.withName(mi.getName().withType(parentClass.getType()));
-                }
-                return mi;
+        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+            J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
+            if (newFolderInvocations.contains(mi.getId())) {
+                mi = mi.withMethodType(newFolderMethodType)
+                        .withName(mi.getName().withType(newFolderMethodType));
             }
+            return mi;
         }
     }
 }
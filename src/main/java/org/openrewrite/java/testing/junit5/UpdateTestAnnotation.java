@@ -15,25 +15,36 @@
  */
 package org.openrewrite.java.testing.junit5;
 
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
 import org.jspecify.annotations.Nullable;
-import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
-import org.openrewrite.TreeVisitor;
+import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.FindImports;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.TypeRewrite;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markup;
 import org.openrewrite.staticanalysis.LambdaBlockToExpression;
 
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Set;
 
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
 public class UpdateTestAnnotation extends Recipe {
 
+    @Option(displayName = "Report unmigrated references",
+            description = "Mark imports and elements that still reference `org.junit.Test` after the migration with an error or warning. " +
+                          "This takes an extra pass over every migrated file, so it is off by default.",
+            example = "true",
+            required = false)
+    @Nullable
+    private Boolean reportUnmigratedReferences;
+
     @Override
     public String getDisplayName() {
         return "Migrate JUnit 4 `@Test` annotations to JUnit 5";
@@ -49,14 +60,22 @@ public class UpdateTestAnnotation extends Recipe {
         return Preconditions.check(Preconditions.or(
                 new UsesType<>("org.junit.Test", false),
                 new FindImports("org.junit.Test", null).getVisitor()
-        ), new UpdateTestAnnotationVisitor());
+        ), new UpdateTestAnnotationVisitor(Boolean.TRUE.equals(reportUnmigratedReferences)));
     }
 
     private static class UpdateTestAnnotationVisitor extends JavaIsoVisitor<ExecutionContext> {
         private static final AnnotationMatcher JUNIT4_TEST = new AnnotationMatcher("@org.junit.Test");
+        private static final JavaType.FullyQualified JUPITER_TEST = JavaType.ShallowClass.build("org.junit.jupiter.api.Test");
+
+        private final boolean reportUnmigratedReferences;
+        private final TypeRewrite toJupiterTest = new TypeRewrite("org.junit.Test", JUPITER_TEST);
 
         private JavaParser.@Nullable Builder<?, ?> javaParser;
 
+        UpdateTestAnnotationVisitor(boolean reportUnmigratedReferences) {
+            this.reportUnmigratedReferences = reportUnmigratedReferences;
+        }
+
         private JavaParser.Builder<?, ?> javaParser(ExecutionContext ctx) {
             if (javaParser == null) {
                 javaParser = JavaParser.fromJavaVersion()
@@ -67,51 +86,31 @@ public class UpdateTestAnnotation extends Recipe {
 
         @Override
         public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+            // Other references like `Test.class` are updated in this same traversal, see visitType and visitFieldAccess
             J.CompilationUnit c = super.visitCompilationUnit(cu, ctx);
-            Set<NameTree> nameTreeSet = c.findType("org.junit.Test");
-            if (!nameTreeSet.isEmpty()) {
-                // Update other references like `Test.class`.
-                c = (J.CompilationUnit) new ChangeType("org.junit.Test", "org.junit.jupiter.api.Test", true)
-                        .getVisitor().visitNonNull(c, ctx);
-            }
 
             maybeRemoveImport("org.junit.Test");
-            doAfterVisit(new JavaIsoVisitor<ExecutionContext>() {
-                @Override
-                public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
-                    J.CompilationUnit c = cu;
-                    c = c.withClasses(ListUtils.map(c.getClasses(), clazz -> (J.ClassDeclaration) visit(clazz, ctx)));
-                    // take one more pass over the imports now that we've had a chance to add warnings to all
-                    // uses of @Test through the rest of the source file
-                    c = c.withImports(ListUtils.map(c.getImports(), anImport -> (J.Import) visit(anImport, ctx)));
-                    return c;
-                }
+            maybeAddImport("org.junit.jupiter.api.Test");
+            if (reportUnmigratedReferences) {
+                doAfterVisit(new MarkUnmigratedReferences());
+            }
+            return c;
+        }
 
-                @Override
-                public J.Import visitImport(J.Import anImport, ExecutionContext ctx) {
-                    if ("org.junit.Test".equals(anImport.getTypeName())) {
-                        return Markup.error(anImport, new IllegalStateException("This import should have been removed by this recipe."));
-                    }
-                    return anImport;
-                }
+        @Override
+        public J.Import visitImport(J.Import anImport, ExecutionContext ctx) {
+            return anImport;
+        }
 
-                @Override
-                public JavaType visitType(@Nullable JavaType javaType, ExecutionContext ctx) {
-                    if (TypeUtils.isOfClassType(javaType, "org.junit.Test")) {
-                        getCursor().putMessageOnFirstEnclosing(J.class, "danglingTestRef", true);
-                    }
-                    return javaType;
-                }
+        @Override
+        public J.FieldAccess visitFieldAccess(J.FieldAccess fieldAccess, ExecutionContext ctx) {
+            J.FieldAccess jupiterTest = toJupiterTest.replaceFullyQualified(fieldAccess);
+            return jupiterTest != null ? jupiterTest : super.visitFieldAccess(fieldAccess, ctx);
+        }
 
-                @Override
-                public J postVisit(J tree, ExecutionContext ctx) {
-                    if (getCursor().getMessage("danglingTestRef", false)) {
-                        return Markup.warn(tree, new IllegalStateException("This still has a type of `org.junit.Test`"));
-                    }
-                    return tree;
-                }
-            });
-            return c;
+        @Override
+        public @Nullable JavaType visitType(@Nullable JavaType javaType, ExecutionContext ctx) {
+            return toJupiterTest.rewrite(javaType);
         }
 
         @Override
@@ -176,6 +175,57 @@ public class UpdateTestAnnotation extends Recipe {
             return super.visitMethodDeclaration(m, ctx);
         }
 
+        /**
+         * Diagnostic pass marking what still references `org.junit.Test`. Classes are only visited when the
+         * compilation unit still has `org.junit.Test` among its types in use.
+         */
+        private static class MarkUnmigratedReferences extends JavaIsoVisitor<ExecutionContext> {
+            @Override
+            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                J.CompilationUnit c = cu;
+                if (hasJUnit4TestType(c)) {
+                    c = c.withClasses(ListUtils.map(c.getClasses(), clazz -> (J.ClassDeclaration) visit(clazz, ctx)));
+                }
+                // take one more pass over the imports now that we've had a chance to add warnings to all
+                // uses of @Test through the rest of the source file
+                c = c.withImports(ListUtils.map(c.getImports(), anImport -> (J.Import) visit(anImport, ctx)));
+                return c;
+            }
+
+            private static boolean hasJUnit4TestType(J.CompilationUnit cu) {
+                for (JavaType type : cu.getTypesInUse().getTypesInUse()) {
+                    if (TypeUtils.isOfClassType(type, "org.junit.Test")) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public J.Import visitImport(J.Import anImport, ExecutionContext ctx) {
+                if ("org.junit.Test".equals(anImport.getTypeName())) {
+                    return Markup.error(anImport, new IllegalStateException("This import should have been removed by this recipe."));
+                }
+                return anImport;
+            }
+
+            @Override
+            public JavaType visitType(@Nullable JavaType javaType, ExecutionContext ctx) {
+                if (TypeUtils.isOfClassType(javaType, "org.junit.Test")) {
+                    getCursor().putMessageOnFirstEnclosing(J.class, "danglingTestRef", true);
+                }
+                return javaType;
+            }
+
+            @Override
+            public J postVisit(J tree, ExecutionContext ctx) {
+                if (getCursor().getMessage("danglingTestRef", false)) {
+                    return Markup.warn(tree, new IllegalStateException("This still has a type of `org.junit.Test`"));
+                }
+                return tree;
+            }
+        }
+
         private static class ChangeTestAnnotation extends JavaIsoVisitor<ExecutionContext> {
             @Nullable
             Expression expectedException;
@@ -15,16 +15,21 @@
  */
 package org.openrewrite.java.testing.junit5;
 
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.*;
 import org.openrewrite.java.dependencies.UpgradeDependencyVersion;
 import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.testing.TypeRewrite;
 import org.openrewrite.java.tree.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -32,6 +37,11 @@ import static java.util.Collections.singletonList;
 public class UseWiremockExtension extends Recipe {
 
     private static final MethodMatcher newWiremockRule = new MethodMatcher("com.github.tomakehurst.wiremock.junit.WireMockRule <constructor>(..)");
+    private static final AnnotationMatcher RULE = new AnnotationMatcher("@org.junit.Rule");
+
+    private static final String WIREMOCK_RULE = "com.github.tomakehurst.wiremock.junit.WireMockRule";
+    private static final JavaType.FullyQualified WIREMOCK_EXTENSION = JavaType.ShallowClass.build("com.github.tomakehurst.wiremock.junit5.WireMockExtension");
+    private static final JavaType.FullyQualified REGISTER_EXTENSION = JavaType.ShallowClass.build("org.junit.jupiter.api.extension.RegisterExtension");
 
     @Override
     public String getDisplayName() {
@@ -45,63 +55,100 @@ public class UseWiremockExtension extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesType<>("com.github.tomakehurst.wiremock.junit.WireMockRule", false), new JavaVisitor<ExecutionContext>() {
+        return Preconditions.check(new UsesType<>(WIREMOCK_RULE, false), new JavaVisitor<ExecutionContext>() {
+
+            private final TypeRewrite toWireMockExtension = new TypeRewrite(WIREMOCK_RULE, WIREMOCK_EXTENSION);
+
+            private JavaParser.@Nullable Builder<?, ?> wiremockParser;
+
+            private final Map<String, JavaTemplate> templates = new HashMap<>();
+
+            private JavaTemplate template(String code, ExecutionContext ctx) {
+                return templates.computeIfAbsent(code, c -> {
+                    if (wiremockParser == null) {
+                        wiremockParser = JavaParser.fromJavaVersion()
+                                .classpathFromResources(ctx, "wiremock-jre8-2.35");
+                    }
+                    JavaTemplate.Builder template = JavaTemplate.builder(c)
+                            .imports("com.github.tomakehurst.wiremock.junit5.WireMockExtension")
+                            .javaParser(wiremockParser);
+                    if (c.contains("WireMockConfiguration")) {
+                        template.imports("com.github.tomakehurst.wiremock.core.WireMockConfiguration");
+                    }
+                    return template.build();
+                });
+            }
+
+            @Override
+            public J visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                // `WireMockRule` and the `@Rule` of its fields are changed in this same traversal, see visitType,
+                // visitIdentifier and visitVariableDeclarations
+                J.CompilationUnit c = (J.CompilationUnit) super.visitCompilationUnit(cu, ctx);
+                maybeRemoveImport(WIREMOCK_RULE);
+                maybeAddImport(WIREMOCK_EXTENSION.getFullyQualifiedName());
+                return c;
+            }
+
+            @Override
+            public J visitImport(J.Import anImport, ExecutionContext ctx) {
+                return anImport;
+            }
 
             @Override
-            public J preVisit(J tree, ExecutionContext ctx) {
-                if (tree instanceof JavaSourceFile) {
-                    doAfterVisit(new ChangeType("com.github.tomakehurst.wiremock.junit.WireMockRule",
-                            "com.github.tomakehurst.wiremock.junit5.WireMockExtension", true).getVisitor());
+            public J visitIdentifier(J.Identifier ident, ExecutionContext ctx) {
+                return super.visitIdentifier(toWireMockExtension.rename(ident), ctx);
+            }
+
+            @Override
+            public J visitFieldAccess(J.FieldAccess fieldAccess, ExecutionContext ctx) {
+                J.FieldAccess wireMockExtension = toWireMockExtension.replaceFullyQualified(fieldAccess);
+                return wireMockExtension != null ? wireMockExtension : super.visitFieldAccess(fieldAccess, ctx);
+            }
+
+            @Override
+            public @Nullable JavaType visitType(@Nullable JavaType javaType, ExecutionContext ctx) {
+                return toWireMockExtension.rewrite(javaType);
+            }
+
+            @Override
+            public J visitVariableDeclarations(J.VariableDeclarations multiVariable, ExecutionContext ctx) {
+                J.VariableDeclarations mv = (J.VariableDeclarations) super.visitVariableDeclarations(multiVariable, ctx);
+                if (TypeUtils.isOfClassType(multiVariable.getType(), WIREMOCK_RULE)) {
+                    mv = mv.withLeadingAnnotations(ListUtils.map(mv.getLeadingAnnotations(), a -> {
+                        if (!RULE.matches(a)) {
+                            return a;
+                        }
+                        maybeRemoveImport("org.junit.Rule");
+                        maybeAddImport(REGISTER_EXTENSION.getFullyQualifiedName());
+                        NameTree annotationType = a.getAnnotationType();
+                        return a.withAnnotationType(annotationType instanceof J.Identifier ?
+                                ((J.Identifier) annotationType).withSimpleName(REGISTER_EXTENSION.getClassName()).withType(REGISTER_EXTENSION) :
+                                typeTree(REGISTER_EXTENSION, annotationType));
+                    }));
                 }
-                return tree;
+                return mv;
+            }
+
+            private J.FieldAccess typeTree(JavaType.FullyQualified type, J replaced) {
+                J.FieldAccess typeTree = TypeTree.build(type.getFullyQualifiedName());
+                return typeTree
+                        .withName(typeTree.getName().withType(type))
+                        .withType(type)
+                        .withPrefix(replaced.getPrefix())
+                        .withMarkers(replaced.getMarkers());
             }
 
-            @SuppressWarnings("ConcatenationWithEmptyString")
             @Override
             public J visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
                 J.NewClass n = (J.NewClass) super.visitNewClass(newClass, ctx);
-                if (newWiremockRule.matches(n)) {
-                    maybeAddImport("com.github.tomakehurst.wiremock.junit5.WireMockExtension");
-                    doAfterVisit(new ChangeType("org.junit.Rule", "org.junit.jupiter.api.extension.RegisterExtension", true)
-                            .getVisitor());
+                // The constructor type of `n` has already been changed to `WireMockExtension`
+                if (newWiremockRule.matches(newClass)) {
+                    maybeAddImport(WIREMOCK_EXTENSION.getFullyQualifiedName());
 
                     Expression arg = n.getArguments().get(0);
 
-                    JavaParser.Builder<?, ?> wiremockParser = JavaParser.fromJavaVersion()
-                            .dependsOn(
-                                    //language=java
-                                    "" +
-                                    "package com.github.tomakehurst.wiremock.junit5;" +
-                                    "import com.github.tomakehurst.wiremock.core.Options;" +
-                                    "public class WireMockExtension {" +
-                                    "  public native static Builder newInstance();" +
-                                    "  public static class Builder {" +
-                                    "    public native Builder options(Options options);" +
-                                    "    public native Builder failOnUnmatchedRequests(boolean failOnUnmatched);" +
-                                    "    public native WireMockExtension build();" +
-                                    "  }" +
-                                    "}",
-                                    //language=java
-                                    "" +
-                                    "package com.github.tomakehurst.wiremock.core;" +
-                                    "public class WireMockConfiguration implements Options {" +
-                                    "  public static native WireMockConfiguration options();" +
-                                    "  public native WireMockConfiguration port(int portNumber);" +
-                                    "  public native WireMockConfiguration dynamicPort();" +
-                                    "  public native WireMockConfiguration httpsPort(Integer httpsPort);" +
-                                    "  public native WireMockConfiguration dynamicHttpsPort();" +
-                                    "}",
-                                    //language=java
-                                    "" +
-                                    "package com.github.tomakehurst.wiremock.core;" +
-                                    "public interface Options {}");
-
                     if (arg instanceof J.Empty) {
-                        String newWiremockExtension = "WireMockExtension.newInstance().build()";
-                        return JavaTemplate.builder(newWiremockExtension)
-                                .imports("com.github.tomakehurst.wiremock.junit5.WireMockExtension")
-                                .javaParser(wiremockParser)
-                                .build()
+                        return template("WireMockExtension.newInstance().build()", ctx)
                                 .apply(getCursor(), n.getCoordinates().replace());
                     } else {
                         JavaType.Class optsType = JavaType.ShallowClass.build("com.github.tomakehurst.wiremock.core.Options");
@@ -110,10 +157,7 @@ public class UseWiremockExtension extends Recipe {
                                                           ".options(#{any(com.github.tomakehurst.wiremock.core.Options)})";
                             if (n.getArguments().size() > 1) {
                                 newWiremockExtension += ".failOnUnmatchedRequests(#{any(boolean)})";
-                                return JavaTemplate.builder(newWiremockExtension + ".build()")
-                                        .imports("com.github.tomakehurst.wiremock.junit5.WireMockExtension")
-                                        .javaParser(wiremockParser)
-                                        .build()
+                                return template(newWiremockExtension + ".build()", ctx)
                                         .apply(
                                                 updateCursor(n),
                                                 n.getCoordinates().replace(),
@@ -121,10 +165,7 @@ public class UseWiremockExtension extends Recipe {
                                                 n.getArguments().get(1)
                                         );
                             } else {
-                                return JavaTemplate.builder(newWiremockExtension + ".build()")
-                                        .imports("com.github.tomakehurst.wiremock.junit5.WireMockExtension")
-                                        .javaParser(wiremockParser)
-                                        .build()
+                                return template(newWiremockExtension + ".build()", ctx)
                                         .apply(updateCursor(n), n.getCoordinates().replace(), arg);
                             }
                         } else {
@@ -133,11 +174,7 @@ public class UseWiremockExtension extends Recipe {
                             String newWiremockExtension = "WireMockExtension.newInstance().options(WireMockConfiguration.options().port(#{any(int)})";
                             if (n.getArguments().size() > 1) {
                                 newWiremockExtension += ".httpsPort(#{any(java.lang.Integer)})";
-                                return JavaTemplate.builder(newWiremockExtension + ").build()")
-                                        .imports("com.github.tomakehurst.wiremock.core.WireMockConfiguration")
-                                        .imports("com.github.tomakehurst.wiremock.junit5.WireMockExtension")
-                                        .javaParser(wiremockParser)
-                                        .build()
+                                return template(newWiremockExtension + ").build()", ctx)
                                         .apply(
                                                 updateCursor(n),
                                                 n.getCoordinates().replace(),
@@ -145,11 +182,7 @@ public class UseWiremockExtension extends Recipe {
                                                 n.getArguments().get(1)
                                         );
                             } else {
-                                return JavaTemplate.builder(newWiremockExtension + ").build()")
-                                        .imports("com.github.tomakehurst.wiremock.core.WireMockConfiguration")
-                                        .imports("com.github.tomakehurst.wiremock.junit5.WireMockExtension")
-                                        .javaParser(wiremockParser)
-                                        .build()
+                                return template(newWiremockExtension + ").build()", ctx)
                                         .apply(updateCursor(n), n.getCoordinates().replace(), arg);
                             }
                         }
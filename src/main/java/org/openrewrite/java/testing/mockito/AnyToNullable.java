@@ -19,13 +19,10 @@ import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.java.ChangeMethodName;
 import org.openrewrite.java.ChangeMethodTargetToStatic;
-import org.openrewrite.java.tree.J;
+import org.openrewrite.java.testing.TestDependencyIndex;
 import org.openrewrite.java.tree.JavaSourceFile;
-import org.openrewrite.xml.tree.Xml;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-
-public class AnyToNullable extends ScanningRecipe<AtomicBoolean> {
+public class AnyToNullable extends ScanningRecipe<TestDependencyIndex> {
     @Override
     public String getDisplayName() {
         return "Replace Mockito 1.x `anyString()`/`any()` with `nullable(Class)`";
@@ -37,25 +34,18 @@ public class AnyToNullable extends ScanningRecipe<AtomicBoolean> {
     }
 
     @Override
-    public AtomicBoolean getInitialValue(ExecutionContext ctx) {
-        return new AtomicBoolean();
+    public TestDependencyIndex getInitialValue(ExecutionContext ctx) {
+        return TestDependencyIndex.get(ctx);
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getScanner(AtomicBoolean acc) {
-        org.openrewrite.maven.search.FindDependency mavenFindDependency =
-                new org.openrewrite.maven.search.FindDependency("org.mockito", "mockito-all", null, null);
-        org.openrewrite.gradle.search.FindDependency gradleFindDependency =
-                new org.openrewrite.gradle.search.FindDependency("org.mockito", "mockito-all", null);
+    public TreeVisitor<?, ExecutionContext> getScanner(TestDependencyIndex index) {
         return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
-            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
-                if (!acc.get()) {
-                    if (tree instanceof Xml.Document && tree != mavenFindDependency.getVisitor().visit(tree, ctx)) {
-                        acc.set(true);
-                    } else if (tree instanceof J && tree != gradleFindDependency.getVisitor().visit(tree, ctx)) {
-                        acc.set(true);
-                    }
+            public Tree preVisit(Tree tree, ExecutionContext ctx) {
+                stopAfterPreVisit();
+                if (tree instanceof SourceFile) {
+                    index.record((SourceFile) tree);
                 }
                 return tree;
             }
@@ -63,20 +53,22 @@ public class AnyToNullable extends ScanningRecipe<AtomicBoolean> {
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor(AtomicBoolean acc) {
-        return Preconditions.check(acc.get(), new TreeVisitor<Tree, ExecutionContext>() {
+    public TreeVisitor<?, ExecutionContext> getVisitor(TestDependencyIndex index) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
             public @Nullable Tree preVisit(Tree tree, ExecutionContext ctx) {
                 if (tree instanceof JavaSourceFile) {
                     stopAfterPreVisit();
-                    doAfterVisit(new ChangeMethodName(
-                            "org.mockito.Mockito any(java.lang.Class)", "nullable", null, null).getVisitor());
-                    doAfterVisit(new ChangeMethodTargetToStatic(
-                            "org.mockito.Mockito nullable(java.lang.Class)", "org.mockito.ArgumentMatchers", null, null).getVisitor());
-                    doAfterVisit(new AnyStringToNullable().getVisitor());
+                    if (index.getResolvedVersions((JavaSourceFile) tree).hasDependency("org.mockito", "mockito-all", null)) {
+                        doAfterVisit(new ChangeMethodName(
+                                "org.mockito.Mockito any(java.lang.Class)", "nullable", null, null).getVisitor());
+                        doAfterVisit(new ChangeMethodTargetToStatic(
+                                "org.mockito.Mockito nullable(java.lang.Class)", "org.mockito.ArgumentMatchers", null, null).getVisitor());
+                        doAfterVisit(new AnyStringToNullable().getVisitor());
+                    }
                 }
                 return super.preVisit(tree, ctx);
             }
-        });
+        };
     }
 }
@@ -26,9 +26,11 @@ import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.TypeUtils;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.util.Collections.unmodifiableSet;
 
 /**
  * Removes unused "org.mockito" imports.
@@ -53,7 +55,7 @@ public class CleanupMockitoImports extends Recipe {
     }
 
     private static class CleanupMockitoImportsVisitor extends JavaIsoVisitor<ExecutionContext> {
-        private static final List<String> MOCKITO_METHOD_NAMES = Arrays.asList(
+        private static final Set<String> MOCKITO_METHOD_NAMES = unmodifiableSet(new HashSet<>(Arrays.asList(
                 "after",
                 "atLeast",
                 "atLeastOnce",
@@ -89,7 +91,7 @@ public class CleanupMockitoImports extends Recipe {
                 "willCallRealMethod",
                 "willDoNothing",
                 "willReturn",
-                "willThrow");
+                "willThrow")));
 
         @Override
         public @Nullable J preVisit(J tree, ExecutionContext ctx) {
@@ -97,21 +99,22 @@ public class CleanupMockitoImports extends Recipe {
             if (tree instanceof JavaSourceFile) {
                 JavaSourceFile sf = (JavaSourceFile) tree;
 
-                // Prevent removing mockito imports when an associated mockito method type is not well formed
-                final List<String> unknownTypeMethodInvocationNames = new ArrayList<>();
-                new WellFormedMockitoMethodTypeVisitor().visit(sf, unknownTypeMethodInvocationNames);
+                if (!hasMockitoImport(sf)) {
+                    return tree;
+                }
 
-                final List<String> qualifiedMethodInvocationNames = new ArrayList<>();
-                new QualifiedMockitoMethodTypeVisitor().visit(sf, qualifiedMethodInvocationNames);
+                // Prevent removing mockito imports when an associated mockito method type is not well formed
+                MockitoMethodUsage usage = new MockitoMethodUsage();
+                new MockitoMethodUsageVisitor().visit(sf, usage);
 
                 for (J.Import _import : sf.getImports()) {
                     if (_import.getPackageName().startsWith("org.mockito")) {
                         boolean isMockitoKotlinImport = _import.getPackageName().startsWith("org.mockito.kotlin");
                         if (_import.isStatic() || isMockitoKotlinImport) {
                             String staticName = _import.getQualid().getSimpleName();
-                            if ("*".equals(staticName) && !possibleMockitoMethod(unknownTypeMethodInvocationNames)) {
+                            if ("*".equals(staticName) && usage.unknownTypeMethodInvocationNames.isEmpty()) {
                                 maybeRemoveImport(_import.getPackageName() + "." + _import.getClassName());
-                            } else if (!"*".equals(staticName) && !unknownTypeMethodInvocationNames.contains(staticName)) {
+                            } else if (!"*".equals(staticName) && !usage.unknownTypeMethodInvocationNames.contains(staticName)) {
                                 String fullyQualifiedName = _import.getPackageName();
                                 if (!isMockitoKotlinImport) {
                                     fullyQualifiedName += "." + _import.getClassName();
@@ -119,7 +122,7 @@ public class CleanupMockitoImports extends Recipe {
                                 fullyQualifiedName += "." + staticName;
                                 maybeRemoveImport(fullyQualifiedName);
                             }
-                        } else if (qualifiedMethodInvocationNames.isEmpty()) {
+                        } else if (!usage.qualifiedMethodInvocation) {
                             maybeRemoveImport(_import.getPackageName() + "." + _import.getClassName());
                         }
                     }
@@ -128,35 +131,43 @@ public class CleanupMockitoImports extends Recipe {
             return tree;
         }
 
-        private boolean possibleMockitoMethod(List<String> methodNamesHavingNullType) {
-            for (String missingMethod : methodNamesHavingNullType) {
-                if (MOCKITO_METHOD_NAMES.contains(missingMethod)) {
+        private static boolean hasMockitoImport(JavaSourceFile sf) {
+            for (J.Import _import : sf.getImports()) {
+                if (_import.getPackageName().startsWith("org.mockito")) {
                     return true;
                 }
             }
-
             return false;
         }
 
-        private static class WellFormedMockitoMethodTypeVisitor extends JavaIsoVisitor<List<String>> {
-            @Override
-            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, List<String> missingMethods) {
-                J.MethodInvocation mi = super.visitMethodInvocation(method, missingMethods);
-                if (MOCKITO_METHOD_NAMES.contains(mi.getSimpleName()) && !TypeUtils.isWellFormedType(mi.getType())) {
-                    missingMethods.add(mi.getSimpleName());
-                }
-                return mi;
-            }
+        private static class MockitoMethodUsage {
+            /**
+             * Names of Mockito methods invoked without well-formed type information.
+             */
+            final Set<String> unknownTypeMethodInvocationNames = new HashSet<>();
+
+            /**
+             * Whether any Mockito method is invoked qualified with a `Mockito` select.
+             */
+            boolean qualifiedMethodInvocation;
         }
 
-        private static class QualifiedMockitoMethodTypeVisitor extends JavaIsoVisitor<List<String>> {
+        /**
+         * Collects both the badly typed and the qualified Mockito method invocations in a single traversal.
+         */
+        private static class MockitoMethodUsageVisitor extends JavaIsoVisitor<MockitoMethodUsage> {
             @Override
-            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, List<String> qualifiedMethods) {
-                J.MethodInvocation mi = super.visitMethodInvocation(method, qualifiedMethods);
-                if (MOCKITO_METHOD_NAMES.contains(mi.getSimpleName()) &&
-                    mi.getSelect() != null &&
-                    TypeUtils.isAssignableTo("org.mockito.Mockito", mi.getSelect().getType())) {
-                    qualifiedMethods.add(mi.getSimpleName());
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, MockitoMethodUsage usage) {
+                J.MethodInvocation mi = super.visitMethodInvocation(method, usage);
+                if (MOCKITO_METHOD_NAMES.contains(mi.getSimpleName())) {
+                    if (!TypeUtils.isWellFormedType(mi.getType())) {
+                        usage.unknownTypeMethodInvocationNames.add(mi.getSimpleName());
+                    }
+                    if (!usage.qualifiedMethodInvocation &&
+                        mi.getSelect() != null &&
+                        TypeUtils.isAssignableTo("org.mockito.Mockito", mi.getSelect().getType())) {
+                        usage.qualifiedMethodInvocation = true;
+                    }
                 }
                 return mi;
             }
@@ -15,20 +15,36 @@
  */
 package org.openrewrite.java.testing.mockito;
 
-import org.jspecify.annotations.Nullable;
 import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.AnnotationMatcher;
+import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.Statement;
+import org.openrewrite.java.RandomizeIdVisitor;
+import org.openrewrite.java.tree.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Collections.emptyList;
 
 public class MockitoUtils {
+    private static final Map<String, AnnotationMatcher> ANNOTATION_MATCHERS = new ConcurrentHashMap<>();
+
+    /**
+     * Type attributed lifecycle method declarations, keyed by the framework variant: the classpath resource, the
+     * annotation and its parameters, the visibility and the method name. These are parsed once and stamped with fresh
+     * ids on every use.
+     */
+    private static final Map<String, J.MethodDeclaration> METHOD_SKELETONS = new ConcurrentHashMap<>();
+
     public static J.ClassDeclaration maybeAddMethodWithAnnotation(
             JavaVisitor visitor,
             J.ClassDeclaration classDecl,
@@ -41,53 +57,124 @@ public class MockitoUtils {
             String importToAdd,
             String methodAnnotationParameters
     ) {
-        if (hasMethodWithAnnotation(classDecl, new AnnotationMatcher(methodAnnotationSignature))) {
-            return classDecl;
+        // Single scan of the class body, for both an existing annotated method and the first test method
+        AnnotationMatcher annotationMatcher = ANNOTATION_MATCHERS.computeIfAbsent(methodAnnotationSignature, AnnotationMatcher::new);
+        List<Statement> statements = classDecl.getBody().getStatements();
+        int firstTestMethod = -1;
+        for (int i = 0; i < statements.size(); i++) {
+            Statement statement = statements.get(i);
+            if (statement instanceof J.MethodDeclaration) {
+                J.MethodDeclaration methodDeclaration = (J.MethodDeclaration) statement;
+                for (J.Annotation annotation : methodDeclaration.getAllAnnotations()) {
+                    if (annotationMatcher.matches(annotation)) {
+                        return classDecl;
+                    }
+                }
+                if (firstTestMethod < 0 && isTestMethod(methodDeclaration)) {
+                    firstTestMethod = i;
+                }
+            }
         }
 
-        J.MethodDeclaration firstTestMethod = getFirstTestMethod(
-                classDecl.getBody().getStatements().stream().filter(J.MethodDeclaration.class::isInstance)
-                        .map(J.MethodDeclaration.class::cast).collect(Collectors.toList()));
-
         visitor.maybeAddImport(importToAdd);
         String tplStr = methodAnnotationToAdd + methodAnnotationParameters +
           (isPublic ? " public" : "") + " void " + methodName + "() {}";
-        return JavaTemplate.builder(tplStr)
-                .contextSensitive()
-                .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, additionalClasspathResource))
-                .imports(importToAdd)
-                .build()
-                .apply(
-                        new Cursor(visitor.getCursor().getParentOrThrow(), classDecl),
-                        (firstTestMethod != null) ?
-                                firstTestMethod.getCoordinates().before() :
-                                classDecl.getBody().getCoordinates().lastStatement()
-                );
+        Optional<J.MethodDeclaration> skeleton = methodSkeleton(ctx, additionalClasspathResource, importToAdd,
+                methodAnnotationToAdd + methodAnnotationParameters, isPublic, methodName);
+        if (!skeleton.isPresent()) {
+            return JavaTemplate.builder(tplStr)
+                    .contextSensitive()
+                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, additionalClasspathResource))
+                    .imports(importToAdd)
+                    .build()
+                    .apply(
+                            new Cursor(visitor.getCursor().getParentOrThrow(), classDecl),
+                            (firstTestMethod >= 0) ?
+                                    statements.get(firstTestMethod).getCoordinates().before() :
+                                    classDecl.getBody().getCoordinates().lastStatement()
+                    );
+        }
+
+        J.MethodDeclaration method = (J.MethodDeclaration) new RandomizeIdVisitor<Integer>().visitNonNull(skeleton.get(), 0);
+        JavaType.Method methodType = method.getMethodType();
+        if (methodType != null && classDecl.getType() != null) {
+            methodType = methodType.withDeclaringType(classDecl.getType());
+            method = method.withMethodType(methodType).withName(method.getName().withType(methodType));
+        }
+        // Only the whitespace of the first test method, as its comments belong to that method
+        method = method.withPrefix(firstTestMethod >= 0 ?
+                statements.get(firstTestMethod).getPrefix().withComments(emptyList()) :
+                Space.format("\n\n"));
+        method = (J.MethodDeclaration) visitor.autoFormat(method, ctx,
+                new Cursor(new Cursor(visitor.getCursor().getParentOrThrow(), classDecl), classDecl.getBody()));
+        return classDecl.withBody(classDecl.getBody().withStatements(firstTestMethod >= 0 ?
+                ListUtils.insert(statements, method, firstTestMethod) :
+                ListUtils.concat(statements, method)));
     }
 
-    private static boolean hasMethodWithAnnotation(J.ClassDeclaration classDecl, AnnotationMatcher annotationMatcher) {
-        for (Statement statement : classDecl.getBody().getStatements()) {
-            if (statement instanceof J.MethodDeclaration) {
-                J.MethodDeclaration methodDeclaration = (J.MethodDeclaration) statement;
-                List<J.Annotation> allAnnotations = methodDeclaration.getAllAnnotations();
-                for (J.Annotation annotation : allAnnotations) {
-                    if (annotationMatcher.matches(annotation)) {
-                        return true;
-                    }
+    private static Optional<J.MethodDeclaration> methodSkeleton(ExecutionContext ctx, String classpathResource, String importToAdd,
+                                                                String methodAnnotation, boolean isPublic, String methodName) {
+        String key = classpathResource + '\n' + methodAnnotation + '\n' + isPublic + '\n' + methodName;
+        J.MethodDeclaration skeleton = METHOD_SKELETONS.get(key);
+        if (skeleton != null) {
+            return Optional.of(skeleton);
+        }
+        // Failures are not cached, so these fall back to the template for this use only
+        Optional<J.MethodDeclaration> parsed = parseMethodSkeleton(ctx, classpathResource, importToAdd,
+                methodAnnotation + "\n    " + (isPublic ? "public " : "") + "void " + methodName + "() {\n    }");
+        parsed.ifPresent(m -> METHOD_SKELETONS.put(key, m));
+        return parsed;
+    }
+
+    private static Optional<J.MethodDeclaration> parseMethodSkeleton(ExecutionContext ctx, String classpathResource,
+                                                                     String importToAdd, String methodSource) {
+        Optional<SourceFile> parsed = JavaParser.fromJavaVersion()
+                .classpathFromResources(ctx, classpathResource)
+                .build()
+                .parse(ctx, "import " + importToAdd + ";\nclass MethodSkeleton {\n    " + methodSource + "\n}")
+                .findFirst();
+        if (parsed.isPresent() && parsed.get() instanceof J.CompilationUnit) {
+            J.CompilationUnit cu = (J.CompilationUnit) parsed.get();
+            if (!cu.getClasses().isEmpty()) {
+                Statement statement = cu.getClasses().get(0).getBody().getStatements().get(0);
+                if (statement instanceof J.MethodDeclaration) {
+                    J.MethodDeclaration method = (J.MethodDeclaration) statement;
+                    // Annotation parameters come from the source being migrated, and may refer to its own types
+                    return hasUnknownTypes(method.getLeadingAnnotations()) ? Optional.empty() : Optional.of(method);
                 }
             }
         }
-        return false;
+        return Optional.empty();
     }
 
-    private static J.@Nullable MethodDeclaration getFirstTestMethod(List<J.MethodDeclaration> methods) {
-        for (J.MethodDeclaration methodDeclaration : methods) {
-            for (J.Annotation annotation : methodDeclaration.getLeadingAnnotations()) {
-                if ("Test".equals(annotation.getSimpleName())) {
-                    return methodDeclaration;
+    private static boolean hasUnknownTypes(List<J.Annotation> annotations) {
+        AtomicBoolean unknown = new AtomicBoolean();
+        JavaIsoVisitor<AtomicBoolean> visitor = new JavaIsoVisitor<AtomicBoolean>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, AtomicBoolean found) {
+                if (identifier.getType() == null || identifier.getType() instanceof JavaType.Unknown) {
+                    found.set(true);
+                }
+                return identifier;
+            }
+        };
+        for (J.Annotation annotation : annotations) {
+            if (annotation.getArguments() != null) {
+                for (Expression argument : annotation.getArguments()) {
+                    // The names of the annotation attributes are not types
+                    visitor.visit(argument instanceof J.Assignment ? ((J.Assignment) argument).getAssignment() : argument, unknown);
                 }
             }
         }
-        return null;
+        return unknown.get();
+    }
+
+    private static boolean isTestMethod(J.MethodDeclaration methodDeclaration) {
+        for (J.Annotation annotation : methodDeclaration.getLeadingAnnotations()) {
+            if ("Test".equals(annotation.getSimpleName())) {
+                return true;
+            }
+        }
+        return false;
     }
 }
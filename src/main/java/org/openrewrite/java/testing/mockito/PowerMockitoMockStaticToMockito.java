@@ -43,13 +43,25 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(
-                Preconditions.or(
-                        new UsesType<>("org.powermock..*", false),
-                        new UsesType<>("org.mockito..*", false)
-                ),
-                new PowerMockitoToMockitoVisitor()
-        );
+        // A visitor keeps its cursor on the instance, so every source file gets its own visitor,
+        // and the visitor returned here can be shared between threads
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return sourceFile instanceof JavaSourceFile;
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                return Preconditions.check(
+                        Preconditions.or(
+                                new UsesType<>("org.powermock..*", false),
+                                new UsesType<>("org.mockito..*", false)
+                        ),
+                        new PowerMockitoToMockitoVisitor()
+                ).visit(tree, ctx);
+            }
+        };
     }
 
     private static class PowerMockitoToMockitoVisitor extends JavaVisitor<ExecutionContext> {
@@ -71,21 +83,14 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
         private static final MethodMatcher DYNAMIC_WHEN_METHOD_MATCHER = new MethodMatcher("org.mockito.Mockito when(java.lang.Class, String, ..)");
         private static final String MOCK_PREFIX = "mocked";
         private static final String TEST_GROUP = "testGroup";
-
-        private String setUpMethodAnnotationSignature;
-        private String setUpMethodAnnotation;
-        private String tearDownMethodAnnotationSignature;
-        private String tearDownMethodAnnotation;
-        private String additionalClasspathResource;
-        private String setUpImportToAdd;
-        private String tearDownImportToAdd;
-        private String tearDownMethodAnnotationParameters = "";
+        private static final String TEST_FRAMEWORK = "testFramework";
 
         @Override
         public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
             if (tree instanceof JavaSourceFile) {
                 boolean useTestNg = !FindAnnotations.find((J) tree, "@org.testng.annotations.Test").isEmpty();
-                initTestFrameworkInfo(useTestNg);
+                // The framework is resolved per source file and kept on the cursor, so the visitor itself holds no state
+                getCursor().putMessage(TEST_FRAMEWORK, useTestNg ? TestFramework.TESTNG : TestFramework.JUNIT5);
             }
             return super.visit(tree, ctx);
         }
@@ -151,18 +156,16 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
         @Override
         public J visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
             J.MethodDeclaration m = (J.MethodDeclaration) super.visitMethodDeclaration(method, ctx);
+            TestFramework framework = getTestFramework();
 
             // Add close static mocks on demand to tear down method
-            AnnotationMatcher tearDownAnnotationMatcher = new AnnotationMatcher(tearDownMethodAnnotationSignature);
-            if (m.getAllAnnotations().stream().anyMatch(tearDownAnnotationMatcher::matches)) {
+            if (hasAnnotation(m, framework.tearDownAnnotationMatcher)) {
                 // Add close statements to the static mocks in the tear down method
                 return addCloseStaticMocksOnDemandStatement(m, ctx);
             }
 
             // Initialize the static mocks in the setup method
-            AnnotationMatcher setUpAnnotationMatcher = new AnnotationMatcher(
-                    setUpMethodAnnotationSignature);
-            if (m.getAllAnnotations().stream().anyMatch(setUpAnnotationMatcher::matches)) {
+            if (hasAnnotation(m, framework.setUpAnnotationMatcher)) {
                 // Move the mockStatic method to the setUp method
                 m = moveMockStaticMethodToSetUp(m, ctx);
             }
@@ -202,6 +205,15 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
             return mi;
         }
 
+        private static boolean hasAnnotation(J.MethodDeclaration method, AnnotationMatcher annotationMatcher) {
+            for (J.Annotation annotation : method.getAllAnnotations()) {
+                if (annotationMatcher.matches(annotation)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
         private static boolean isFieldAlreadyDefined(J.Block classBody, String fieldName) {
             for (Statement statement : classBody.getStatements()) {
                 if (statement instanceof J.VariableDeclarations) {
@@ -353,32 +365,8 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
             return classDecl;
         }
 
-        private void initTestFrameworkInfo(boolean useTestNg) {
-            String setUpMethodAnnotationName;
-            String tearDownMethodAnnotationName;
-            String annotationPackage;
-
-            if (!useTestNg) {
-                setUpMethodAnnotationName = "BeforeEach";
-                tearDownMethodAnnotationName = "AfterEach";
-                annotationPackage = "org.junit.jupiter.api";
-                additionalClasspathResource = "junit-jupiter-api-5.9";
-            } else {
-                setUpMethodAnnotationName = "BeforeMethod";
-                tearDownMethodAnnotationName = "AfterMethod";
-                annotationPackage = "org.testng.annotations";
-                additionalClasspathResource = "testng-7.7";
-                tearDownMethodAnnotationParameters = "(alwaysRun = true)";
-            }
-
-            this.setUpMethodAnnotation = "@" + setUpMethodAnnotationName;
-            this.tearDownMethodAnnotation = "@" + tearDownMethodAnnotationName;
-
-            this.setUpMethodAnnotationSignature = "@" + annotationPackage + "." + setUpMethodAnnotationName;
-            this.tearDownMethodAnnotationSignature = "@" + annotationPackage + "." + tearDownMethodAnnotationName;
-
-            this.setUpImportToAdd = annotationPackage + "." + setUpMethodAnnotationName;
-            this.tearDownImportToAdd = annotationPackage + "." + tearDownMethodAnnotationName;
+        private TestFramework getTestFramework() {
+            return getCursor().getNearestMessage(TEST_FRAMEWORK, TestFramework.JUNIT5);
         }
 
         private Map<J.Identifier, Expression> getMockedTypesFields() {
@@ -432,18 +420,17 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
             }
             getCursor().putMessage(MOCKED_TYPES_FIELDS, mockedTypesIdentifiers);
 
-            maybeAutoFormat(classDecl, classDecl.withPrefix(classDecl.getPrefix().
-                    withWhitespace("")), classDecl.getName(), ctx, getCursor());
             maybeAddImport(MOCKED_STATIC);
             maybeAddImport("org.mockito.Mockito", "mockStatic");
             return classDecl;
         }
 
         private J.ClassDeclaration maybeAddSetUpMethodBody(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+            TestFramework framework = getTestFramework();
             String testGroupsAsString = getTestGroupsAsString();
             return maybeAddMethodWithAnnotation(this, classDecl, ctx, false, "setUpStaticMocks",
-                    setUpMethodAnnotationSignature, setUpMethodAnnotation,
-                    additionalClasspathResource, setUpImportToAdd, testGroupsAsString);
+                    framework.setUpMethodAnnotationSignature, framework.setUpMethodAnnotation,
+                    framework.additionalClasspathResource, framework.setUpImportToAdd, testGroupsAsString);
         }
 
         private String getTestGroupsAsString() {
@@ -458,11 +445,12 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
         }
 
         private J.ClassDeclaration maybeAddTearDownMethodBody(J.ClassDeclaration classDecl, ExecutionContext ctx) {
-            String testGroupsAsString = (getTestGroupsAsString().isEmpty()) ? tearDownMethodAnnotationParameters : getTestGroupsAsString();
+            TestFramework framework = getTestFramework();
+            String testGroupsAsString = (getTestGroupsAsString().isEmpty()) ? framework.tearDownMethodAnnotationParameters : getTestGroupsAsString();
             return maybeAddMethodWithAnnotation(this, classDecl, ctx, false, "tearDownStaticMocks",
-                    tearDownMethodAnnotationSignature,
-                    tearDownMethodAnnotation,
-                    additionalClasspathResource, tearDownImportToAdd, testGroupsAsString);
+                    framework.tearDownMethodAnnotationSignature,
+                    framework.tearDownMethodAnnotation,
+                    framework.additionalClasspathResource, framework.tearDownImportToAdd, testGroupsAsString);
         }
 
 
@@ -536,4 +524,37 @@ public class PowerMockitoMockStaticToMockito extends Recipe {
                     });
         }
     }
+
+    /**
+     * Immutable per-file information about the test framework used, with the lifecycle annotation matchers precomputed.
+     */
+    private enum TestFramework {
+        JUNIT5("org.junit.jupiter.api", "BeforeEach", "AfterEach", "junit-jupiter-api-5.9", ""),
+        TESTNG("org.testng.annotations", "BeforeMethod", "AfterMethod", "testng-7.7", "(alwaysRun = true)");
+
+        private final String setUpMethodAnnotation;
+        private final String setUpMethodAnnotationSignature;
+        private final String setUpImportToAdd;
+        private final AnnotationMatcher setUpAnnotationMatcher;
+        private final String tearDownMethodAnnotation;
+        private final String tearDownMethodAnnotationSignature;
+        private final String tearDownImportToAdd;
+        private final String tearDownMethodAnnotationParameters;
+        private final AnnotationMatcher tearDownAnnotationMatcher;
+        private final String additionalClasspathResource;
+
+        TestFramework(String annotationPackage, String setUpMethodAnnotationName, String tearDownMethodAnnotationName,
+                      String additionalClasspathResource, String tearDownMethodAnnotationParameters) {
+            this.setUpMethodAnnotation = "@" + setUpMethodAnnotationName;
+            this.setUpImportToAdd = annotationPackage + "." + setUpMethodAnnotationName;
+            this.setUpMethodAnnotationSignature = "@" + setUpImportToAdd;
+            this.setUpAnnotationMatcher = new AnnotationMatcher(setUpMethodAnnotationSignature);
+            this.tearDownMethodAnnotation = "@" + tearDownMethodAnnotationName;
+            this.tearDownImportToAdd = annotationPackage + "." + tearDownMethodAnnotationName;
+            this.tearDownMethodAnnotationSignature = "@" + tearDownImportToAdd;
+            this.tearDownAnnotationMatcher = new AnnotationMatcher(tearDownMethodAnnotationSignature);
+            this.tearDownMethodAnnotationParameters = tearDownMethodAnnotationParameters;
+            this.additionalClasspathResource = additionalClasspathResource;
+        }
+    }
 }
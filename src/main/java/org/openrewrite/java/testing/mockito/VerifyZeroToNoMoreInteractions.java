@@ -15,18 +15,16 @@
  */
 package org.openrewrite.java.testing.mockito;
 
-import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
 import org.openrewrite.java.ChangeMethodName;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.dependencies.DependencyInsight;
 import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.testing.TestDependencyIndex;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.marker.SearchResult;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-
-public class VerifyZeroToNoMoreInteractions extends ScanningRecipe<AtomicBoolean> {
+public class VerifyZeroToNoMoreInteractions extends ScanningRecipe<TestDependencyIndex> {
 
     private static final String VERIFY_ZERO_INTERACTIONS = "org.mockito.Mockito verifyZeroInteractions(..)";
     private static final MethodMatcher ASSERT_INSTANCE_OF_MATCHER = new MethodMatcher(VERIFY_ZERO_INTERACTIONS, true);
@@ -42,18 +40,18 @@ public class VerifyZeroToNoMoreInteractions extends ScanningRecipe<AtomicBoolean
     }
 
     @Override
-    public AtomicBoolean getInitialValue(final ExecutionContext ctx) {
-        return new AtomicBoolean(false);
+    public TestDependencyIndex getInitialValue(final ExecutionContext ctx) {
+        return TestDependencyIndex.get(ctx);
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getScanner(AtomicBoolean usingOlderMockito) {
-        TreeVisitor<?, ExecutionContext> div = new DependencyInsight("org.mockito", "mockito-*", "[1.0,3.0)", null).getVisitor();
+    public TreeVisitor<?, ExecutionContext> getScanner(TestDependencyIndex index) {
         return new TreeVisitor<Tree, ExecutionContext>() {
             @Override
-            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
-                if (!usingOlderMockito.get() && div.visit(tree, ctx) != tree) {
-                    usingOlderMockito.set(true);
+            public Tree preVisit(Tree tree, ExecutionContext ctx) {
+                stopAfterPreVisit();
+                if (tree instanceof SourceFile) {
+                    index.record((SourceFile) tree);
                 }
                 return tree;
             }
@@ -61,8 +59,19 @@ public class VerifyZeroToNoMoreInteractions extends ScanningRecipe<AtomicBoolean
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor(AtomicBoolean usingOlderMockito) {
-        return Preconditions.check(usingOlderMockito.get(),
+    public TreeVisitor<?, ExecutionContext> getVisitor(TestDependencyIndex index) {
+        TreeVisitor<?, ExecutionContext> usingOlderMockito = new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public Tree preVisit(Tree tree, ExecutionContext ctx) {
+                stopAfterPreVisit();
+                if (tree instanceof SourceFile &&
+                    index.getResolvedVersions((SourceFile) tree).hasDependency("org.mockito", "mockito-*", "[1.0,3.0)")) {
+                    return SearchResult.found(tree);
+                }
+                return tree;
+            }
+        };
+        return Preconditions.check(usingOlderMockito,
                 Preconditions.check(new UsesMethod<>(ASSERT_INSTANCE_OF_MATCHER), new JavaIsoVisitor<ExecutionContext>() {
                     @Override
                     public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
@@ -70,6 +70,40 @@ class AdoptAssertJDurationAssertionsTest implements RewriteTest {
         );
     }
 
+    @Test
+    void getSecondsToCoarsestUnitInOneCycle() {
+        //language=java
+        rewriteRun(
+          spec -> spec.expectedCyclesThatMakeChanges(1),
+          java(
+            """
+              import java.time.Duration;
+              import java.time.temporal.Temporal;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class Foo {
+                  void testMethod(Temporal timestampA, Temporal timestampB) {
+                      assertThat(Duration.between(timestampA, timestampB).getSeconds()).isEqualTo(120);
+                  }
+              }
+              """,
+            """
+              import java.time.Duration;
+              import java.time.temporal.Temporal;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class Foo {
+                  void testMethod(Temporal timestampA, Temporal timestampB) {
+                      assertThat(Duration.between(timestampA, timestampB)).hasMinutes(2);
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void getNanoToHasNanos() {
         //language=java
@@ -239,7 +273,8 @@ class AdoptAssertJDurationAssertionsTest implements RewriteTest {
 
     @ParameterizedTest
     @CsvSource({
-      "hasNanos(6000000L),hasSeconds(6)",
+      "hasNanos(6000000L),hasMillis(6)",
+      "hasNanos(6000000000L),hasSeconds(6)",
       "hasMillis(5000),hasSeconds(5)",
       "hasSeconds(600),hasMinutes(10)",
       "hasMillis(300000),hasMinutes(5)",
@@ -248,6 +283,8 @@ class AdoptAssertJDurationAssertionsTest implements RewriteTest {
       "hasMinutes(120),hasHours(2)",
       "hasHours(48),hasDays(2)",
       "hasHours(24 * 2),hasDays(2)",
+      "hasNanos(3_600_000_000_000L),hasHours(1)",
+      "hasNanos(3_000_000_001_000_000L),hasMillis(3000000001L)",
     })
     void simplifyDurationAssertions(String before, String after) {
         //language=java
@@ -265,6 +302,26 @@ class AdoptAssertJDurationAssertionsTest implements RewriteTest {
         rewriteRun(java(template.formatted(before), template.formatted(after)));
     }
 
+    @Test
+    void doNotSimplifyNanosThatAreNotWholeMillis() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import java.time.Duration;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class Foo {
+                  void testMethod(Duration time) {
+                      assertThat(time).hasNanos(3_000_000_001_000L);
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void doNotSimplifyNonLiteralMultiplication() {
         //language=java
@@ -101,6 +101,48 @@ class AssertJBestPracticesTest implements RewriteTest {
         );
     }
 
+    @Test
+    void convergesInSingleCycle() {
+        //language=java
+        rewriteRun(
+          spec -> spec
+            .parser(JavaParser.fromJavaVersion()
+              .classpathFromResources(new InMemoryExecutionContext(), "assertj-core-3.24", "junit-jupiter-api-5.9"))
+            .cycles(2)
+            .expectedCyclesThatMakeChanges(1),
+          java(
+            """
+              import java.util.List;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+              import static org.junit.jupiter.api.Assertions.assertTrue;
+
+              class MyTest {
+                  void testMethod(List<String> list, String s) {
+                      assertEquals(0, list.size());
+                      assertTrue(s.isEmpty());
+                      assertTrue(s.startsWith("a"));
+                  }
+              }
+              """,
+            """
+              import java.util.List;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+
+              class MyTest {
+                  void testMethod(List<String> list, String s) {
+                      assertThat(list).isEmpty();
+                      assertThat(s)
+                              .isEmpty()
+                              .startsWith("a");
+                  }
+              }
+              """
+          )
+        );
+    }
+
     /**
      * Chained AssertJ assertions should be simplified to the corresponding dedicated assertion, as
      * per <a
@@ -532,4 +532,106 @@ class TestsShouldNotBePublicTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void publicModifierCommentMovesToNextModifier() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              class ATest {
+
+                  @Test
+                  // keep me
+                  public final void testMethod() {
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              class ATest {
+
+                  @Test
+                  // keep me
+                  final void testMethod() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void publicModifierCommentMovesToMethod() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              class ATest {
+
+                  @Test
+                  // keep me
+                  public void testMethod() {
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              class ATest {
+
+                  // keep me
+                  @Test
+                  void testMethod() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void protectedModifierCommentMovesToNextModifier() {
+        //language=java
+        rewriteRun(
+          spec -> spec.recipe(new TestsShouldNotBePublic(true)),
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              class ATest {
+
+                  @Test
+                  // keep me
+                  protected final void testMethod() {
+                  }
+
+                  @Test
+                  protected void anotherTestMethod() {
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              class ATest {
+
+                  @Test
+                  // keep me
+                  final void testMethod() {
+                  }
+
+                  @Test
+                  void anotherTestMethod() {
+                  }
+              }
+              """
+          )
+        );
+    }
 }
@@ -16,6 +16,8 @@
 package org.openrewrite.java.testing.hamcrest;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.java.JavaParser;
@@ -237,6 +239,60 @@ class HamcrestOfMatchersToAssertJTest implements RewriteTest {
         );
     }
 
+    @ParameterizedTest
+    @CsvSource({
+      "allOf,'',satisfies",
+      "allOf,'\"reason\", ',satisfies",
+      "anyOf,'',satisfiesAnyOf",
+      "anyOf,'\"reason\", ',satisfiesAnyOf"
+    })
+    void manyMatchers(String matcher, String reason, String assertion) {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+
+              import static org.hamcrest.MatcherAssert.assertThat;
+              import static org.hamcrest.Matchers.%1$s;
+              import static org.hamcrest.Matchers.containsString;
+
+              class MyTest {
+                  @Test
+                  void testMethod() {
+                      assertThat(%2$s"hello world", %1$s(containsString("h"), containsString("e"), containsString("l"), containsString("o"), containsString(" "), containsString("w"), containsString("r"), containsString("d"), containsString("hello")));
+                  }
+              }
+              """.formatted(matcher, reason),
+            """
+              import org.junit.jupiter.api.Test;
+
+              import static org.assertj.core.api.Assertions.assertThat;
+              import static org.hamcrest.MatcherAssert.assertThat;
+              import static org.hamcrest.Matchers.containsString;
+
+              class MyTest {
+                  @Test
+                  void testMethod() {
+                      assertThat("hello world")%s
+                              .%s(
+                                      arg -> assertThat(arg, containsString("h")),
+                                      arg -> assertThat(arg, containsString("e")),
+                                      arg -> assertThat(arg, containsString("l")),
+                                      arg -> assertThat(arg, containsString("o")),
+                                      arg -> assertThat(arg, containsString(" ")),
+                                      arg -> assertThat(arg, containsString("w")),
+                                      arg -> assertThat(arg, containsString("r")),
+                                      arg -> assertThat(arg, containsString("d")),
+                                      arg -> assertThat(arg, containsString("hello"))
+                              );
+                  }
+              }
+              """.formatted(reason.isEmpty() ? "" : "\n                .as(\"reason\")", assertion)
+          )
+        );
+    }
+
     @Test
     void anyOfArgumentIsIterable() {
         //language=java
@@ -23,7 +23,7 @@ import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
-import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.java.Assertions.*;
 import static org.openrewrite.maven.Assertions.pomXml;
 
 class AddHamcrestJUnitDependencyTest implements RewriteTest {
@@ -129,4 +129,57 @@ class AddHamcrestJUnitDependencyTest implements RewriteTest {
           pomXml(POM_BEFORE)
         );
     }
+
+    @Test
+    void shouldOnlyAddToModuleUsingAssertThat() {
+        rewriteRun(
+          mavenProject("project",
+            pomXml(POM_BEFORE, POM_AFTER),
+            srcTestJava(
+              //language=java
+              java(
+                """
+                  class FooTest {
+                      void bar() {
+                          org.junit.Assert.assertThat("a", org.hamcrest.Matchers.is("a"));
+                      }
+                  }
+                  """
+              )
+            )
+          ),
+          mavenProject("other",
+            //language=xml
+            pomXml(
+              """
+                <project>
+                    <groupId>org.example</groupId>
+                    <artifactId>other</artifactId>
+                    <version>1.0-SNAPSHOT</version>
+                    <dependencies>
+                        <dependency>
+                            <groupId>junit</groupId>
+                            <artifactId>junit</artifactId>
+                            <version>4.13.2</version>
+                            <scope>test</scope>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """
+            ),
+            srcTestJava(
+              //language=java
+              java(
+                """
+                  class BarTest {
+                      void bar() {
+                          org.junit.Assert.assertTrue(true);
+                      }
+                  }
+                  """
+              )
+            )
+          )
+        );
+    }
 }
@@ -280,4 +280,105 @@ class AssertThrowsOnLastStatementTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void keepsBlockWithMessageArgument() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+              
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+              import static org.junit.jupiter.api.Assertions.assertThrows;
+              
+              class MyTest {
+              
+                  @Test
+                  public void test() {
+                      Throwable exception = assertThrows(IllegalArgumentException.class, () -> {
+                          System.out.println("foo");
+                          foo();
+                      }, "message");
+                      assertEquals("Error message", exception.getMessage());
+                  }
+                  void foo() {
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+              
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+              import static org.junit.jupiter.api.Assertions.assertThrows;
+              
+              class MyTest {
+              
+                  @Test
+                  public void test() {
+                      System.out.println("foo");
+                      Throwable exception = assertThrows(IllegalArgumentException.class, () -> {
+                          foo();
+                      }, "message");
+                      assertEquals("Error message", exception.getMessage());
+                  }
+                  void foo() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void leavesUnrelatedLambdaBlockAlone() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.jupiter.api.Test;
+              
+              import static org.junit.jupiter.api.Assertions.assertThrows;
+              
+              class MyTest {
+              
+                  @Test
+                  public void test() {
+                      Runnable runnable = () -> {
+                          System.out.println("bar");
+                          foo();
+                      };
+                      assertThrows(IllegalArgumentException.class, () -> {
+                          System.out.println("foo");
+                          foo();
+                      });
+                  }
+                  void foo() {
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+              
+              import static org.junit.jupiter.api.Assertions.assertThrows;
+              
+              class MyTest {
+              
+                  @Test
+                  public void test() {
+                      Runnable runnable = () -> {
+                          System.out.println("bar");
+                          foo();
+                      };
+                      System.out.println("foo");
+                      assertThrows(IllegalArgumentException.class, () ->
+                          foo());
+                  }
+                  void foo() {
+                  }
+              }
+              """
+          )
+        );
+    }
 }
@@ -163,6 +163,36 @@ class AssertToAssertionsTest implements RewriteTest {
         );
     }
 
+    @Test
+    void untypedFailOnOtherReceiverIsNotRetargeted() {
+        //language=java
+        rewriteRun(
+          spec -> spec.typeValidationOptions(TypeValidation.none()),
+          java(
+            """
+              import org.junit.Assert;
+
+              class MyTest {
+                  void foo(Unknown unknown) {
+                      Assert.assertTrue(true);
+                      unknown.fail();
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Assertions;
+
+              class MyTest {
+                  void foo(Unknown unknown) {
+                      Assertions.assertTrue(true);
+                      unknown.fail();
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void assertWithoutMessage() {
         //language=java
@@ -21,6 +21,7 @@ import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.TypeValidation;
 
 import static org.openrewrite.java.Assertions.java;
 
@@ -198,6 +199,115 @@ class MigrateJUnitTestCaseTest implements RewriteTest {
         );
     }
 
+    @Test
+    void qualifiedJupiterAssertionsImportIsRemoved() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "junit-4.13", "junit-jupiter-api-5.9")),
+          //language=java
+          java(
+            """
+              import junit.framework.TestCase;
+              import org.junit.jupiter.api.Assertions;
+
+              public class MathTest extends TestCase {
+                  public void testAdd() {
+                      Assertions.assertEquals(2, 1 + 1);
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              public class MathTest {
+                  @Test
+                  public void testAdd() {
+                      assertEquals(2, 1 + 1);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void untypedFailOnOtherReceiverIsNotRetargeted() {
+        rewriteRun(
+          spec -> spec.typeValidationOptions(TypeValidation.none()),
+          //language=java
+          java(
+            """
+              import junit.framework.TestCase;
+
+              public class MathTest extends TestCase {
+                  Unknown unknown;
+
+                  public void testAdd() {
+                      assertEquals(2, 1 + 1);
+                      unknown.fail();
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              public class MathTest {
+                  Unknown unknown;
+
+                  @Test
+                  public void testAdd() {
+                      assertEquals(2, 1 + 1);
+                      unknown.fail();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void otherTestCaseReferencesAreKept() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import junit.framework.TestCase;
+
+              public class MathTest extends TestCase {
+                  public void testAdd() {
+                      assertEquals(2, 1 + 1);
+                  }
+
+                  static int count(TestCase other) {
+                      return other.countTestCases();
+                  }
+              }
+              """,
+            """
+              import junit.framework.TestCase;
+              import org.junit.jupiter.api.Test;
+
+              import static org.junit.jupiter.api.Assertions.assertEquals;
+
+              public class MathTest {
+                  @Test
+                  public void testAdd() {
+                      assertEquals(2, 1 + 1);
+                  }
+
+                  static int count(TestCase other) {
+                      return other.countTestCases();
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void notTestCaseHasTestCaseAssertion() {
         //language=java
@@ -23,6 +23,7 @@ import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 class UpdateTestAnnotationTest implements RewriteTest {
@@ -496,6 +497,79 @@ class UpdateTestAnnotationTest implements RewriteTest {
         );
     }
 
+    @Test
+    void arraysAndBoundsAreMigrated() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.Test;
+
+              import java.util.List;
+
+              public class MyTest {
+                  Test[] tests;
+                  List<? extends Test> boundedTests;
+                  List<List<Test>> nestedTests;
+
+                  @Test
+                  public void test() {
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              import java.util.List;
+
+              public class MyTest {
+                  Test[] tests;
+                  List<? extends Test> boundedTests;
+                  List<List<Test>> nestedTests;
+
+                  @Test
+                  public void test() {
+                  }
+              }
+              """,
+            spec -> spec.afterRecipe(cu -> assertThat(cu.getTypesInUse().getTypesInUse())
+              .noneMatch(type -> type.toString().contains("org.junit.Test")))
+          )
+        );
+    }
+
+    @Test
+    void noUnmigratedReferencesToReport() {
+        //language=java
+        rewriteRun(
+          spec -> spec.recipe(new UpdateTestAnnotation(true)),
+          java(
+            """
+              import org.junit.Test;
+
+              public class MyTest {
+                  Test[] tests;
+
+                  @Test
+                  public void test() {
+                  }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+
+              public class MyTest {
+                  Test[] tests;
+
+                  @Test
+                  public void test() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void usedInJavadoc() {
         //language=java
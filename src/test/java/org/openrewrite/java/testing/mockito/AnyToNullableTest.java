@@ -21,7 +21,7 @@ import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
-import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.java.Assertions.*;
 import static org.openrewrite.maven.Assertions.pomXml;
 
 class AnyToNullableTest implements RewriteTest {
@@ -143,4 +143,81 @@ class AnyToNullableTest implements RewriteTest {
         );
     }
 
+    @Test
+    void onlyTouchesModulesUsingMockitoAll() {
+        //language=java
+        String before = """
+          import static org.mockito.Mockito.mock;
+          import static org.mockito.Mockito.when;
+          import static org.mockito.Mockito.any;
+          
+          class MyTest {
+               void test() {
+                  Object example = mock(Object.class);
+                  when(example.equals(any(Object.class))).thenReturn(true);
+               }
+          }
+          """;
+        rewriteRun(
+          mavenProject("old",
+            //language=xml
+            pomXml(
+              """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>old</artifactId>
+                    <version>1.0.0</version>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.mockito</groupId>
+                            <artifactId>mockito-all</artifactId>
+                            <version>1.10.19</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """),
+            srcTestJava(
+              java(
+                before,
+                //language=java
+                """
+                  import static org.mockito.ArgumentMatchers.nullable;
+                  import static org.mockito.Mockito.mock;
+                  import static org.mockito.Mockito.when;
+                  
+                  class MyTest {
+                       void test() {
+                          Object example = mock(Object.class);
+                          when(example.equals(nullable(Object.class))).thenReturn(true);
+                       }
+                  }
+                  """
+              )
+            )
+          ),
+          mavenProject("new",
+            //language=xml
+            pomXml(
+              """
+                <project>
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>com.example</groupId>
+                    <artifactId>new</artifactId>
+                    <version>1.0.0</version>
+                    <dependencies>
+                        <dependency>
+                            <groupId>org.mockito</groupId>
+                            <artifactId>mockito-core</artifactId>
+                            <version>3.12.0</version>
+                        </dependency>
+                    </dependencies>
+                </project>
+                """),
+            srcTestJava(
+              java(before)
+            )
+          )
+        );
+    }
 }
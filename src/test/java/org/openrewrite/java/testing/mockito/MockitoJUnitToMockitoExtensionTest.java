@@ -805,4 +805,104 @@ class MockitoJUnitToMockitoExtensionTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void keepsExistingLeadingAnnotations() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.Rule;
+              import org.mockito.junit.MockitoJUnit;
+              import org.mockito.junit.MockitoRule;
+              import org.mockito.quality.Strictness;
+              
+              @Deprecated
+              @SuppressWarnings("unused")
+              class MyTest {
+              
+                  @Rule
+                  MockitoRule rule = MockitoJUnit.rule().strictness(Strictness.LENIENT);
+              }
+              """,
+            """
+              import org.junit.jupiter.api.extension.ExtendWith;
+              import org.mockito.junit.jupiter.MockitoExtension;
+              import org.mockito.junit.jupiter.MockitoSettings;
+              import org.mockito.quality.Strictness;
+              
+              @Deprecated
+              @ExtendWith(MockitoExtension.class)
+              @MockitoSettings(strictness = Strictness.LENIENT)
+              @SuppressWarnings("unused")
+              class MyTest {
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void strictnessVariantsInOneSourceFile() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import org.junit.Rule;
+              import org.mockito.junit.MockitoJUnit;
+              import org.mockito.junit.MockitoRule;
+              import org.mockito.quality.Strictness;
+              
+              class LenientTest {
+              
+                  @Rule
+                  MockitoRule rule = MockitoJUnit.rule().strictness(Strictness.LENIENT);
+              }
+              
+              class WarnTest {
+              
+                  @Rule
+                  MockitoRule rule = MockitoJUnit.rule().strictness(Strictness.WARN);
+              }
+              
+              class StrictStubsTest {
+              
+                  @Rule
+                  MockitoRule rule = MockitoJUnit.rule().strictness(Strictness.STRICT_STUBS);
+              }
+              
+              class SilentTest {
+              
+                  @Rule
+                  MockitoRule rule = MockitoJUnit.rule().silent();
+              }
+              """,
+            """
+              import org.junit.jupiter.api.extension.ExtendWith;
+              import org.mockito.junit.jupiter.MockitoExtension;
+              import org.mockito.junit.jupiter.MockitoSettings;
+              import org.mockito.quality.Strictness;
+              
+              @ExtendWith(MockitoExtension.class)
+              @MockitoSettings(strictness = Strictness.LENIENT)
+              class LenientTest {
+              }
+              
+              @ExtendWith(MockitoExtension.class)
+              @MockitoSettings(strictness = Strictness.WARN)
+              class WarnTest {
+              }
+              
+              @ExtendWith(MockitoExtension.class)
+              class StrictStubsTest {
+              }
+              
+              @ExtendWith(MockitoExtension.class)
+              @MockitoSettings(strictness = Strictness.LENIENT)
+              class SilentTest {
+              }
+              """
+          )
+        );
+    }
 }
@@ -16,14 +16,21 @@
 package org.openrewrite.java.testing.mockito;
 
 import org.junit.jupiter.api.Test;
-import org.openrewrite.DocumentExample;
-import org.openrewrite.InMemoryExecutionContext;
-import org.openrewrite.Issue;
+import org.openrewrite.*;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.test.TypeValidation;
 
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
 import static org.openrewrite.groovy.Assertions.groovy;
 import static org.openrewrite.java.Assertions.java;
 
@@ -102,6 +109,67 @@ class PowerMockitoMockStaticToMockitoTest implements RewriteTest {
         );
     }
 
+    @Test
+    void javadocOfFirstTestMethodIsNotCopied() {
+        //language=java
+        rewriteRun(
+          java(
+            """
+              import static org.mockito.Mockito.mockStatic;
+              
+              import java.util.Calendar;
+              
+              import org.junit.jupiter.api.Test;
+              import org.powermock.core.classloader.annotations.PrepareForTest;
+              
+              @PrepareForTest({Calendar.class})
+              public class MyTest {
+              
+                  /**
+                   * Tests the static method.
+                   */
+                  @Test
+                  void testStaticMethod() {
+                      mockStatic(Calendar.class);
+                  }
+              }
+              """,
+            """
+              import static org.mockito.Mockito.mockStatic;
+              
+              import java.util.Calendar;
+              
+              import org.junit.jupiter.api.AfterEach;
+              import org.junit.jupiter.api.BeforeEach;
+              import org.junit.jupiter.api.Test;
+              import org.mockito.MockedStatic;
+              
+              public class MyTest {
+              
+                  private MockedStatic<Calendar> mockedCalendar;
+              
+                  @BeforeEach
+                  void setUpStaticMocks() {
+                      mockedCalendar = mockStatic(Calendar.class);
+                  }
+              
+                  @AfterEach
+                  void tearDownStaticMocks() {
+                      mockedCalendar.closeOnDemand();
+                  }
+              
+                  /**
+                   * Tests the static method.
+                   */
+                  @Test
+                  void testStaticMethod() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @Test
     void prepareForTestAnnotationIsReplacedByFields() {
         //language=java
@@ -711,4 +779,102 @@ class PowerMockitoMockStaticToMockitoTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void concurrentRunsMatchSequentialRun() throws Exception {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> fail(t));
+        //language=java
+        List<SourceFile> templates = JavaParser.fromJavaVersion()
+          .classpathFromResources(ctx,
+            "junit-jupiter-api-5.9",
+            "mockito-core-3.12",
+            "powermock-core-1.6",
+            "testng-7.7"
+          )
+          .build()
+          .parse(ctx,
+            """
+              import static org.mockito.Mockito.mockStatic;
+              
+              import java.util.Calendar;
+              
+              import org.junit.jupiter.api.Test;
+              import org.powermock.core.classloader.annotations.PrepareForTest;
+              
+              @PrepareForTest({Calendar.class})
+              class JUnitTest {
+                  @Test
+                  void testStaticMethod() {
+                      mockStatic(Calendar.class);
+                  }
+              }
+              """,
+            """
+              import java.util.Calendar;
+              
+              import org.testng.annotations.Test;
+              import org.powermock.core.classloader.annotations.PrepareForTest;
+              
+              @PrepareForTest({Calendar.class})
+              class TestNGTest {
+                  @Test
+                  void testSomething() { }
+              }
+              """,
+            """
+              import org.junit.jupiter.api.Test;
+              import org.mockito.Mockito;
+              
+              class PlainJUnitTest {
+                  @Test
+                  void testSomething() {
+                      Mockito.mock(Object.class);
+                  }
+              }
+              """,
+            """
+              import org.testng.annotations.Test;
+              import org.mockito.Mockito;
+              
+              class PlainTestNGTest {
+                  @Test
+                  void testSomething() {
+                      Mockito.mock(Object.class);
+                  }
+              }
+              """
+          )
+          .collect(Collectors.toList());
+
+        // Interleave both frameworks, with a migrating file every hundred files
+        List<SourceFile> sources = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            SourceFile template = templates.get(i % 100 < 2 ? i % 2 : 2 + i % 2);
+            sources.add(template.<SourceFile>withId(Tree.randomId()).withSourcePath(Paths.get("Test" + i + ".java")));
+        }
+
+        // A single visitor instance is shared by the sequential run and all threads of the parallel run
+        TreeVisitor<?, ExecutionContext> visitor = new PowerMockitoMockStaticToMockito().getVisitor();
+        List<String> sequential = sources.stream()
+          .map(source -> migrate(visitor, source))
+          .collect(Collectors.toList());
+        ForkJoinPool pool = new ForkJoinPool(8);
+        List<String> parallel;
+        try {
+            parallel = pool.submit(() -> sources.parallelStream()
+              .map(source -> migrate(visitor, source))
+              .collect(Collectors.toList())).get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(parallel.get(0)).contains("@AfterEach").doesNotContain("@PrepareForTest");
+        assertThat(parallel.get(1)).contains("@AfterMethod(alwaysRun = true)").doesNotContain("@PrepareForTest");
+    }
+
+    private static String migrate(TreeVisitor<?, ExecutionContext> visitor, SourceFile sourceFile) {
+        Tree after = visitor.visit(sourceFile, new InMemoryExecutionContext(t -> fail(t)));
+        return ((SourceFile) requireNonNull(after)).printAll();
+    }
 }
@@ -23,7 +23,7 @@ import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
-import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.java.Assertions.*;
 import static org.openrewrite.maven.Assertions.pomXml;
 
 class VerifyZeroToNoMoreInteractionsTest implements RewriteTest {
@@ -211,4 +211,80 @@ class VerifyZeroToNoMoreInteractionsTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void onlyReplacesInModulesUsingMockitoBeforeThree() {
+        //language=java
+        String before = """
+          import static org.mockito.Mockito.verifyZeroInteractions;
+
+          class MyTest {
+              void test() {
+                  verifyZeroInteractions(System.out);
+              }
+          }
+          """;
+        rewriteRun(
+          mavenProject("mockito-one",
+            //language=xml
+            pomXml(
+              """
+                <project>
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>bla.bla</groupId>
+                  <artifactId>mockito-one</artifactId>
+                  <version>1.0.0</version>
+                  <dependencies>
+                    <dependency>
+                        <groupId>org.mockito</groupId>
+                        <artifactId>mockito-core</artifactId>
+                        <version>1.10.19</version>
+                        <scope>test</scope>
+                    </dependency>
+                  </dependencies>
+                </project>
+                """
+            ),
+            srcTestJava(
+              java(
+                before,
+                //language=java
+                """
+                  import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+                  class MyTest {
+                      void test() {
+                          verifyNoMoreInteractions(System.out);
+                      }
+                  }
+                  """
+              )
+            )
+          ),
+          mavenProject("mockito-three",
+            //language=xml
+            pomXml(
+              """
+                <project>
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>bla.bla</groupId>
+                  <artifactId>mockito-three</artifactId>
+                  <version>1.0.0</version>
+                  <dependencies>
+                    <dependency>
+                        <groupId>org.mockito</groupId>
+                        <artifactId>mockito-core</artifactId>
+                        <version>3.0.0</version>
+                        <scope>test</scope>
+                    </dependency>
+                  </dependencies>
+                </project>
+                """
+            ),
+            srcTestJava(
+              java(before)
+            )
+          )
+        );
+    }
 }